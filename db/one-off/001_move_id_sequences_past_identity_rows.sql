@@ -0,0 +1,5 @@
+-- Run once, by hand, on a database created while items/bookings used IDENTITY ids:
+-- moves the pooled id sequences past the rows inserted before the switch to SEQUENCE ids.
+--   psql -d shareit -f db/one-off/001_move_id_sequences_past_identity_rows.sql
+SELECT setval('items_seq', GREATEST((SELECT last_value FROM items_seq), (SELECT COALESCE(MAX(id), 0) FROM items) + 50));
+SELECT setval('bookings_seq', GREATEST((SELECT last_value FROM bookings_seq), (SELECT COALESCE(MAX(id), 0) FROM bookings) + 50));
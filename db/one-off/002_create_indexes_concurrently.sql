@@ -0,0 +1,15 @@
+-- Run once, by hand, outside a transaction (CONCURRENTLY cannot run inside one): builds the query indexes
+-- without locking writes. schema.sql no longer creates them, so this is needed on new databases too.
+--   psql -d shareit -f db/one-off/002_create_indexes_concurrently.sql
+-- A build interrupted by an error leaves an INVALID index behind: drop it and run the file again.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_item_status_end ON bookings (item_id, status, end_date);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_items_owner ON items (owner_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_item_created ON comments (item_id, created DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_items_request ON items (request_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_items_bookings_valid_until ON items (bookings_valid_until);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_requests_requestor_created ON requests (requestor_id, created DESC, id DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_requests_created ON requests (created DESC, id DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_request_matches_owner ON request_matches (owner_id, request_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_outbox_events_pending ON outbox_events (dispatched, created);
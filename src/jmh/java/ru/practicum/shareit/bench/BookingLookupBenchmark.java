@@ -0,0 +1,53 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingLookupBenchmark {
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    public ru.practicum.shareit.booking.dto.State state;
+
+    @Param({"20"})
+    public int pageSize;
+
+    private BookingService bookingService;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItState shareIt) {
+        bookingService = shareIt.bean(BookingService.class);
+        userId = shareIt.hotUserId();
+    }
+
+    @Benchmark
+    public List<BookingDto> booker() {
+        return bookingService.getAll(state, userId, 0, pageSize);
+    }
+
+    @Benchmark
+    public List<BookingDto> owner() {
+        return bookingService.getOwnerAll(state, userId, 0, pageSize);
+    }
+}
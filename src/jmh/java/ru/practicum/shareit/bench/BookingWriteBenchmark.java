@@ -0,0 +1,95 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.BatchResultDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingWriteBenchmark {
+
+    private static final int BATCH = 100;
+
+    // How many items the writers compete for: 1 is a single hot item, larger values spread the stripes
+    @Param({"1", "16"})
+    public int hotItems;
+
+    private final AtomicLong slots = new AtomicLong();
+
+    private BookingService bookingService;
+    private Long bookerId;
+    private long[] itemIds;
+    private LocalDateTime base;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItState state) {
+        bookingService = state.bean(BookingService.class);
+        bookerId = state.hotUserId();
+        itemIds = state.seededItems.stream()
+                .filter(Item::getAvailable)
+                .filter(item -> !item.getOwnerId().equals(bookerId))
+                .limit(hotItems)
+                .mapToLong(Item::getId)
+                .toArray();
+        // Past the seeded range, so new bookings never collide with generated ones
+        base = state.now.plusYears(1);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public BookingDto createUncontended() {
+        return bookingService.create(nextBooking(), bookerId);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public BookingDto createContended() {
+        return bookingService.create(nextBooking(), bookerId);
+    }
+
+    // Scores are rows per second
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public BatchResultDto<BookingDto> createBatch() {
+        List<BookingDto> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            batch.add(nextBooking());
+        }
+        return bookingService.createBatch(batch, bookerId);
+    }
+
+    private BookingDto nextBooking() {
+        long slot = slots.getAndIncrement();
+        LocalDateTime start = base.plusHours(2 * (slot / itemIds.length));
+        return BookingDto.builder()
+                .itemId(itemIds[(int) (slot % itemIds.length)])
+                .start(start)
+                .end(start.plusHours(1))
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Run with -prof gc: the export must stay flat in allocation per row whatever the row count,
+// e.g. -p rows=1000000 -jvmArgs -Xmx256m to check a million rows stream through a small heap
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ExportBenchmark {
+
+    private static final int CHUNK = 1000;
+
+    @Param({"100000"})
+    public int rows;
+
+    private BookingService bookingService;
+    private Long bookerId;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItState state) {
+        bookingService = state.bean(BookingService.class);
+        User booker = state.bean(UserRepository.class).save(User.builder()
+                .name("exporter")
+                .email("exporter@bench.shareit")
+                .build());
+        bookerId = booker.getId();
+
+        BenchData data = new BenchData(BenchData.SEED + 1);
+        BookingRepository bookingRepository = state.bean(BookingRepository.class);
+        for (int i = 0; i < rows; i += CHUNK) {
+            List<Booking> chunk = data.bookings(Math.min(CHUNK, rows - i), state.seededItems, List.of(booker), state.now);
+            bookingRepository.saveAll(chunk);
+        }
+    }
+
+    @Benchmark
+    public long exportAll() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        bookingService.exportAll(ru.practicum.shareit.booking.dto.State.ALL, bookerId).writeTo(out);
+        return out.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
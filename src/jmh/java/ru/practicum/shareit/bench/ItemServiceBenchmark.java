@@ -0,0 +1,61 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    @Param({"100"})
+    public int pageSize;
+
+    private ItemService itemService;
+    private Long ownerId;
+    private long[] itemIds;
+    private LocalDate from;
+    private LocalDate to;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItState state) {
+        itemService = state.bean(ItemService.class);
+        ownerId = state.hotUserId();
+        itemIds = state.seededItems.stream().mapToLong(item -> item.getId()).toArray();
+        from = state.now.toLocalDate();
+        to = from.plusDays(365);
+    }
+
+    @Benchmark
+    public List<ItemDto> findAllByOwner() {
+        return itemService.findAllByOwner(ownerId, 0, pageSize);
+    }
+
+    // Cycles over every seeded item, so with the availability index enabled it is loaded for all of them
+    @Benchmark
+    public List<AvailabilitySlotDto> yearCalendar() {
+        cursor = (cursor + 1) % itemIds.length;
+        return itemService.getAvailability(itemIds[cursor], from, to);
+    }
+}
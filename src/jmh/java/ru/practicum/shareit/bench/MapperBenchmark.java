@@ -0,0 +1,107 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final BookingMapper bookingMapper = new BookingMapper();
+    // The author is always initialized here, so the repository fallback is never reached
+    private final CommentMapper commentMapper = new CommentMapper(null);
+
+    private Item[] items;
+    private Booking[] bookings;
+    private BookingView[] views;
+    private Comment[] comments;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        BenchData data = new BenchData(BenchData.SEED);
+        List<User> users = data.users(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            users.get(i).setId((long) i + 1);
+        }
+        List<Item> itemList = data.items(SIZE, users);
+        for (int i = 0; i < SIZE; i++) {
+            itemList.get(i).setId((long) i + 1);
+        }
+        List<Booking> bookingList = data.bookings(SIZE, itemList, users, LocalDateTime.now());
+
+        items = itemList.toArray(new Item[0]);
+        bookings = new Booking[SIZE];
+        views = new BookingView[SIZE];
+        comments = new Comment[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            Booking booking = bookingList.get(i);
+            booking.setId((long) i + 1);
+            bookings[i] = booking;
+            views[i] = new BookingView(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                    booking.getItem().getId(), booking.getItem().getName(), booking.getBooker().getId());
+            comments[i] = Comment.builder()
+                    .id((long) i + 1)
+                    .text(booking.getItem().getDescription())
+                    .itemId(booking.getItem().getId())
+                    .authorId(booking.getBooker().getId())
+                    .author(booking.getBooker())
+                    .created(booking.getEnd())
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public ItemDto itemToDto() {
+        return ItemMapper.toItemDto(items[next()]);
+    }
+
+    @Benchmark
+    public BookingDto bookingToDto() {
+        return bookingMapper.toBookingDto(bookings[next()]);
+    }
+
+    @Benchmark
+    public BookingDto bookingViewToDto() {
+        return bookingMapper.toBookingDto(views[next()]);
+    }
+
+    @Benchmark
+    public CommentDto commentToDto() {
+        return commentMapper.toCommentDto(comments[next()]);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (SIZE - 1);
+        return cursor;
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.bench;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.matching.ItemRequestMatcher;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Requests matched per second; the full catalog check is -p items=1000000 -jvmArgs -Xmx8g
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestMatchingBenchmark {
+
+    private static final int DESCRIPTIONS = 1024;
+
+    @Param({"100000"})
+    public int items;
+
+    private ItemRequestMatcher matcher;
+    private String[] descriptions;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchData data = new BenchData(BenchData.SEED);
+        List<User> owners = data.users(1000);
+        for (int i = 0; i < owners.size(); i++) {
+            owners.get(i).setId((long) i + 1);
+        }
+
+        // Only the in-memory index is exercised: no repository, nothing is persisted
+        ItemSearchIndex index = new ItemSearchIndex(null);
+        List<Item> catalog = data.items(items, owners);
+        for (int i = 0; i < catalog.size(); i++) {
+            Item item = catalog.get(i);
+            item.setId((long) i + 1);
+            index.index(item);
+        }
+        matcher = new ItemRequestMatcher(index, null, 10, 1, 1, new SimpleMeterRegistry());
+        descriptions = data.requestDescriptions(DESCRIPTIONS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        matcher.shutdown();
+    }
+
+    @Benchmark
+    public List<ItemRequestMatcher.Candidate> topMatches() {
+        cursor = (cursor + 1) & (DESCRIPTIONS - 1);
+        return matcher.topMatches(descriptions[cursor], 1L);
+    }
+}
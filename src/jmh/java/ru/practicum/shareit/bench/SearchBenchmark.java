@@ -0,0 +1,85 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.storage.InMemoryItemStorage;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final int TERMS = 256;
+
+    private InMemoryItemStorage inMemoryStorage;
+    private ItemRepository itemRepository;
+    private ItemSearchIndex searchIndex;
+    private ItemService itemService;
+    private String[] terms;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItState state) {
+        itemRepository = state.bean(ItemRepository.class);
+        searchIndex = state.bean(ItemSearchIndex.class);
+        itemService = state.bean(ItemService.class);
+        // The index is normally built on ApplicationReadyEvent, before the data was seeded
+        searchIndex.rebuild();
+
+        inMemoryStorage = new InMemoryItemStorage();
+        for (Item item : state.seededItems) {
+            inMemoryStorage.create(Item.builder()
+                    .name(item.getName())
+                    .description(item.getDescription())
+                    .available(item.getAvailable())
+                    .ownerId(item.getOwnerId())
+                    .build());
+        }
+        terms = new BenchData(BenchData.SEED).searchTerms(TERMS);
+    }
+
+    @Benchmark
+    public List<Item> inMemoryScan() {
+        return inMemoryStorage.search(nextTerm());
+    }
+
+    @Benchmark
+    public List<Item> repositoryQuery() {
+        return itemRepository.searchAvailableItems(nextTerm());
+    }
+
+    @Benchmark
+    public List<Item> trigramIndex() {
+        return searchIndex.search(nextTerm());
+    }
+
+    @Benchmark
+    public List<ItemDto> service() {
+        return itemService.search(nextTerm());
+    }
+
+    private String nextTerm() {
+        cursor = (cursor + 1) % TERMS;
+        return terms[cursor];
+    }
+}
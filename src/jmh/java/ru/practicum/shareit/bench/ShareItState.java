@@ -0,0 +1,98 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@State(Scope.Benchmark)
+public class ShareItState {
+
+    private static final int CHUNK = 1000;
+
+    @Param({"1000"})
+    public int users;
+
+    @Param({"10000"})
+    public int items;
+
+    @Param({"50000"})
+    public int bookings;
+
+    public ConfigurableApplicationContext context;
+    public List<User> seededUsers;
+    public List<Item> seededItems;
+    public LocalDateTime now;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // Command-line arguments outrank application-test.properties, default properties would not
+        String[] args = properties().entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .profiles("test")
+                .run(args);
+
+        now = LocalDateTime.now();
+        BenchData data = new BenchData(BenchData.SEED);
+        seededUsers = saveInChunks(context.getBean(UserRepository.class)::saveAll, data.users(users));
+        seededItems = saveInChunks(context.getBean(ItemRepository.class)::saveAll, data.items(items, seededUsers));
+        saveInChunks(context.getBean(BookingRepository.class)::saveAll,
+                data.bookings(bookings, seededItems, seededUsers, now));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public Long hotUserId() {
+        return seededUsers.get(0).getId();
+    }
+
+    protected Map<String, Object> properties() {
+        return new HashMap<>(Map.of(
+                "spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.properties.hibernate.generate_statistics", "false",
+                "logging.level.org.hibernate.SQL", "WARN",
+                "logging.level.org.springframework.transaction.interceptor", "WARN",
+                "logging.level.org.springframework.orm.jpa.JpaTransactionManager", "WARN",
+                "shareit.metrics.query-count-header", "false"));
+    }
+
+    private static <T> List<T> saveInChunks(ChunkWriter<T> writer, List<T> rows) {
+        List<T> saved = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i += CHUNK) {
+            saved.addAll(writer.saveAll(rows.subList(i, Math.min(rows.size(), i + CHUNK))));
+        }
+        return saved;
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter<T> {
+        List<T> saveAll(Iterable<T> rows);
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Throughput of a read path with SQL logging off, sampled at 1% and logging every statement
+// (the old show-sql/org.hibernate.SQL=DEBUG setup)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class SqlLoggingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SampledState extends ShareItState {
+
+        @Param({"0", "0.01", "1"})
+        public double sqlSampleRate;
+
+        @Override
+        protected Map<String, Object> properties() {
+            Map<String, Object> properties = super.properties();
+            properties.put("shareit.logging.sql-sample-rate", sqlSampleRate);
+            return properties;
+        }
+    }
+
+    private BookingService bookingService;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setUp(SampledState state) {
+        bookingService = state.bean(BookingService.class);
+        userId = state.hotUserId();
+    }
+
+    @Benchmark
+    public List<BookingDto> bookerLookup() {
+        return bookingService.getAll(ru.practicum.shareit.booking.dto.State.ALL, userId, 0, 20);
+    }
+}
@@ -1,10 +1,14 @@
 package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.State;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.BatchResultDto;
+import ru.practicum.shareit.common.Pagination;
 
 import java.util.List;
 
@@ -21,6 +25,12 @@ public class BookingController {
         return bookingService.create(bookingDto, userId);
     }
 
+    @PostMapping("/batch")
+    public BatchResultDto<BookingDto> createBatch(@RequestBody List<BookingDto> bookingDtos,
+                                                  @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.createBatch(bookingDtos, userId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approve(@PathVariable Long bookingId,
                               @RequestParam Boolean approved,
@@ -36,13 +46,29 @@ public class BookingController {
 
     @GetMapping
     public List<BookingDto> getAll(@RequestParam(defaultValue = "ALL") State state,
-                                   @RequestHeader("X-Sharer-User-Id") Long userId) {
-        return bookingService.getAll(state, userId);
+                                   @RequestHeader("X-Sharer-User-Id") Long userId,
+                                   @RequestParam(defaultValue = "0") int from,
+                                   @RequestParam(required = false) Integer size) {
+        return bookingService.getAll(state, userId, from, Pagination.sizeOrDefault(size));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody exportAll(@RequestParam(defaultValue = "ALL") State state,
+                                           @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.exportAll(state, userId)::writeTo;
+    }
+
+    @GetMapping(value = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody exportOwnerAll(@RequestParam(defaultValue = "ALL") State state,
+                                                @RequestHeader("X-Sharer-User-Id") Long ownerId) {
+        return bookingService.exportOwnerAll(state, ownerId)::writeTo;
     }
 
     @GetMapping("/owner")
     public List<BookingDto> getOwnerAll(@RequestParam(defaultValue = "ALL") State state,
-                                        @RequestHeader("X-Sharer-User-Id") Long ownerId) {
-        return bookingService.getOwnerAll(state, ownerId);
+                                        @RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                        @RequestParam(defaultValue = "0") int from,
+                                        @RequestParam(required = false) Integer size) {
+        return bookingService.getOwnerAll(state, ownerId, from, Pagination.sizeOrDefault(size));
     }
 }
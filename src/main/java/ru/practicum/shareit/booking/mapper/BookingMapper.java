@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exception.MappingException;
@@ -42,6 +43,27 @@ public class BookingMapper {
                 .build();
     }
 
+    public BookingDto toBookingDto(BookingView view) {
+        if (view == null) {
+            log.warn("Попытка преобразовать null BookingView в BookingDto");
+            throw new MappingException("BookingView для преобразования в DTO не может быть null");
+        }
+
+        return BookingDto.builder()
+                .id(view.id())
+                .start(view.start())
+                .end(view.end())
+                .status(view.status())
+                .item(ItemDto.builder()
+                        .id(view.itemId())
+                        .name(view.itemName())
+                        .build())
+                .booker(UserDto.builder()
+                        .id(view.bookerId())
+                        .build())
+                .build();
+    }
+
     public Booking toBooking(BookingDto dto, Item item, User booker) {
         if (dto == null) {
             log.warn("Попытка преобразовать null BookingDto в Booking");
@@ -1,36 +1,119 @@
 package ru.practicum.shareit.booking.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingBoundaryView;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.item.model.Item;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findAllByBookerId(Long bookerId, Sort sort);
-
-    List<Booking> findAllByBookerIdAndStatusIn(Long bookerId, List<BookingStatus> statuses, Sort sort);
-
-    List<Booking> findAllByBookerIdAndStartLessThanAndEndGreaterThan(Long bookerId, LocalDateTime now, LocalDateTime nowEnd, Sort sort);
-
-    List<Booking> findAllByBookerIdAndEndLessThan(Long bookerId, LocalDateTime now, Sort sort);
-
-    List<Booking> findAllByBookerIdAndStartGreaterThan(Long bookerId, LocalDateTime now, Sort sort);
-
-    List<Booking> findAllByItemIn(List<Item> items, Sort sort);
-
-    List<Booking> findAllByItemInAndStatusIn(List<Item> items, List<BookingStatus> statuses, Sort sort);
-
-    List<Booking> findAllByItemInAndStartLessThanAndEndGreaterThan(List<Item> items, LocalDateTime now, LocalDateTime nowEnd, Sort sort);
-
-    List<Booking> findAllByItemInAndEndLessThan(List<Item> items, LocalDateTime now, Sort sort);
-
-    List<Booking> findAllByItemInAndStartGreaterThan(List<Item> items, LocalDateTime now, Sort sort);
+    String BOOKING_VIEW = "SELECT new ru.practicum.shareit.booking.dto.BookingView(" +
+            "b.id, b.start, b.end, b.status, i.id, i.name, b.booker.id) " +
+            "FROM Booking b JOIN b.item i ";
+
+    String EXPORT_FILTER = " AND b.status IN :statuses " +
+            "AND b.start > :startAfter AND b.start < :startBefore " +
+            "AND b.end > :endAfter AND b.end < :endBefore " +
+            "ORDER BY b.start DESC, b.id DESC";
+
+    @Query(BOOKING_VIEW + "WHERE b.booker.id = :bookerId")
+    List<BookingView> findBookerViews(@Param("bookerId") Long bookerId, Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE b.booker.id = :bookerId AND b.status = :status")
+    List<BookingView> findBookerViewsByStatus(@Param("bookerId") Long bookerId,
+                                              @Param("status") BookingStatus status,
+                                              Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE b.booker.id = :bookerId AND b.start < :now AND b.end > :now")
+    List<BookingView> findBookerCurrentViews(@Param("bookerId") Long bookerId,
+                                             @Param("now") LocalDateTime now,
+                                             Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE b.booker.id = :bookerId AND b.end < :now")
+    List<BookingView> findBookerPastViews(@Param("bookerId") Long bookerId,
+                                          @Param("now") LocalDateTime now,
+                                          Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE b.booker.id = :bookerId AND b.start > :now")
+    List<BookingView> findBookerFutureViews(@Param("bookerId") Long bookerId,
+                                            @Param("now") LocalDateTime now,
+                                            Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE b.booker.id = :bookerId ORDER BY b.start DESC, b.id DESC")
+    List<BookingView> findBookerTimeline(@Param("bookerId") Long bookerId);
+
+    @Query(BOOKING_VIEW + "WHERE i.ownerId = :ownerId ORDER BY b.start DESC, b.id DESC")
+    List<BookingView> findOwnerTimeline(@Param("ownerId") Long ownerId);
+
+    @Query(BOOKING_VIEW + "WHERE i.ownerId = :ownerId")
+    List<BookingView> findOwnerViews(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE i.ownerId = :ownerId AND b.status = :status")
+    List<BookingView> findOwnerViewsByStatus(@Param("ownerId") Long ownerId,
+                                             @Param("status") BookingStatus status,
+                                             Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE i.ownerId = :ownerId AND b.start < :now AND b.end > :now")
+    List<BookingView> findOwnerCurrentViews(@Param("ownerId") Long ownerId,
+                                            @Param("now") LocalDateTime now,
+                                            Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE i.ownerId = :ownerId AND b.end < :now")
+    List<BookingView> findOwnerPastViews(@Param("ownerId") Long ownerId,
+                                         @Param("now") LocalDateTime now,
+                                         Pageable pageable);
+
+    @Query(BOOKING_VIEW + "WHERE i.ownerId = :ownerId AND b.start > :now")
+    List<BookingView> findOwnerFutureViews(@Param("ownerId") Long ownerId,
+                                           @Param("now") LocalDateTime now,
+                                           Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(BOOKING_VIEW + "WHERE b.booker.id = :bookerId" + EXPORT_FILTER)
+    Stream<BookingView> streamBookerViews(@Param("bookerId") Long bookerId,
+                                          @Param("statuses") Collection<BookingStatus> statuses,
+                                          @Param("startAfter") LocalDateTime startAfter,
+                                          @Param("startBefore") LocalDateTime startBefore,
+                                          @Param("endAfter") LocalDateTime endAfter,
+                                          @Param("endBefore") LocalDateTime endBefore);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(BOOKING_VIEW + "WHERE i.ownerId = :ownerId" + EXPORT_FILTER)
+    Stream<BookingView> streamOwnerViews(@Param("ownerId") Long ownerId,
+                                         @Param("statuses") Collection<BookingStatus> statuses,
+                                         @Param("startAfter") LocalDateTime startAfter,
+                                         @Param("startBefore") LocalDateTime startBefore,
+                                         @Param("endAfter") LocalDateTime endAfter,
+                                         @Param("endBefore") LocalDateTime endBefore);
+
+    @Query(BOOKING_VIEW + "WHERE i.id = :itemId AND b.status IN :statuses")
+    List<BookingView> findItemViewsByStatusIn(@Param("itemId") Long itemId,
+                                              @Param("statuses") Collection<BookingStatus> statuses);
+
+    boolean existsByItemIdAndStatusInAndStartBeforeAndEndAfter(Long itemId, Collection<BookingStatus> statuses,
+                                                               LocalDateTime end, LocalDateTime start);
+
+    @Query("SELECT b.item.id FROM Booking b WHERE b.id = :id")
+    Optional<Long> findItemIdById(@Param("id") Long id);
+
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
 
     List<Booking> findAllByItemId(Long itemId, Sort sort);
 
@@ -38,5 +121,31 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     Optional<Booking> findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(Long itemId, BookingStatus status, LocalDateTime now);
 
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i " +
+            "WHERE i.id IN :itemIds AND b.status = :status AND b.end < :now " +
+            "AND b.end = (SELECT MAX(b2.end) FROM Booking b2 " +
+            "WHERE b2.item.id = i.id AND b2.status = :status AND b2.end < :now)")
+    List<Booking> findLastByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                    @Param("status") BookingStatus status,
+                                    @Param("now") LocalDateTime now);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i " +
+            "WHERE i.id IN :itemIds AND b.status = :status AND b.start > :now " +
+            "AND b.start = (SELECT MIN(b2.start) FROM Booking b2 " +
+            "WHERE b2.item.id = i.id AND b2.status = :status AND b2.start > :now)")
+    List<Booking> findNextByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                    @Param("status") BookingStatus status,
+                                    @Param("now") LocalDateTime now);
+
+    @Query(BOOKING_VIEW + "WHERE b.id IN :ids")
+    List<BookingView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingBoundaryView(b.item.id, MIN(b.end)) " +
+            "FROM Booking b WHERE b.item.id IN :itemIds AND b.status = :status AND b.end > :now " +
+            "GROUP BY b.item.id")
+    List<BookingBoundaryView> findFirstEndAfterByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                                         @Param("status") BookingStatus status,
+                                                         @Param("now") LocalDateTime now);
+
     boolean existsByItemIdAndBookerIdAndStatusAndEndBefore(Long itemId, Long bookerId, BookingStatus status, LocalDateTime now);
 }
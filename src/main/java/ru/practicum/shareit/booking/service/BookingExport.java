@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// A validated export, written as NDJSON only once the caller has a stream to write to
+@FunctionalInterface
+public interface BookingExport {
+
+    void writeTo(OutputStream out) throws IOException;
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.State;
+import ru.practicum.shareit.common.BatchResultDto;
 
 import java.util.List;
 
@@ -9,11 +10,17 @@ public interface BookingService {
 
     BookingDto create(BookingDto bookingDto, Long userId);
 
+    BatchResultDto<BookingDto> createBatch(List<BookingDto> bookingDtos, Long userId);
+
     BookingDto approve(Long bookingId, Long userId, Boolean approved);
 
     BookingDto getById(Long bookingId, Long userId);
 
-    List<BookingDto> getAll(State state, Long userId);
+    List<BookingDto> getAll(State state, Long userId, int from, int size);
+
+    List<BookingDto> getOwnerAll(State state, Long userId, int from, int size);
+
+    BookingExport exportAll(State state, Long userId);
 
-    List<BookingDto> getOwnerAll(State state, Long userId);
-}
\ No newline at end of file
+    BookingExport exportOwnerAll(State state, Long ownerId);
+}
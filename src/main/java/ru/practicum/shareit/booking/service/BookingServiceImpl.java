@@ -1,45 +1,150 @@
 package ru.practicum.shareit.booking.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.dto.State;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.storage.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.storage.BookingTimelineIndex;
+import ru.practicum.shareit.common.BatchEntryDto;
+import ru.practicum.shareit.common.BatchResultDto;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.common.StripedLocks;
+import ru.practicum.shareit.datasource.ReadWriteRoutingDataSource;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.pointer.ItemBookingPointers;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.metrics.ServiceMetrics;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Sort BOOKING_SORT = Sort.by(Sort.Direction.DESC, "start")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingMapper bookingMapper;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final BookingTimelineIndex timelineIndex;
+    private final StripedLocks itemLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ServiceMetrics serviceMetrics;
+    private final ItemBookingPointers bookingPointers;
 
     @Override
     public BookingDto create(BookingDto dto, Long userId) {
         log.debug("Создание бронирования: userId={}, dto={}", userId, dto);
 
+        validateRequest(dto);
+
+        return itemLocks.withLock(dto.getItemId(), () -> inTransaction(() -> doCreate(dto, userId)));
+    }
+
+    @Override
+    public BatchResultDto<BookingDto> createBatch(List<BookingDto> dtos, Long userId) {
+        BatchResultDto.checkSize(dtos);
+        userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+
+        List<BatchEntryDto<BookingDto>> results = new ArrayList<>(Collections.nCopies(dtos.size(), null));
+        Map<Long, List<Integer>> byItem = new TreeMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            try {
+                validateRequest(dtos.get(i));
+                byItem.computeIfAbsent(dtos.get(i).getItemId(), k -> new ArrayList<>()).add(i);
+            } catch (RuntimeException e) {
+                results.set(i, BatchEntryDto.failure(i, e.getMessage()));
+            }
+        }
+
+        byItem.forEach((itemId, indexes) -> {
+            try {
+                Map<Integer, BatchEntryDto<BookingDto>> group = itemLocks.withLock(itemId,
+                        () -> inTransaction(() -> createGroup(dtos, indexes, userId)));
+                group.forEach(results::set);
+            } catch (RuntimeException e) {
+                log.warn("Не удалось сохранить бронирования вещи {} из пакета: {}", itemId, e.getMessage());
+                indexes.forEach(i -> results.set(i, BatchEntryDto.failure(i, "Не удалось сохранить бронирование")));
+            }
+        });
+
+        BatchResultDto<BookingDto> result = BatchResultDto.of(results);
+        log.info("Пакетное создание бронирований пользователем {}: успешно {}, с ошибками {}", userId,
+                result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    private Map<Integer, BatchEntryDto<BookingDto>> createGroup(List<BookingDto> dtos, List<Integer> indexes, Long userId) {
+        Map<Integer, BatchEntryDto<BookingDto>> group = new HashMap<>();
+        for (Integer i : indexes) {
+            try {
+                group.put(i, BatchEntryDto.success(i, doCreate(dtos.get(i), userId)));
+            } catch (NotFoundException | IllegalArgumentException | BookingConflictException e) {
+                group.put(i, BatchEntryDto.failure(i, e.getMessage()));
+            }
+        }
+        return group;
+    }
+
+    private void validateRequest(BookingDto dto) {
+        if (dto == null) {
+            throw new IllegalArgumentException("Бронирование не может быть null");
+        }
+        if (dto.getItemId() == null) {
+            log.warn("Не указана вещь для бронирования");
+            throw new IllegalArgumentException("Не указана вещь для бронирования");
+        }
+        if (dto.getStart() == null || dto.getEnd() == null || !dto.getStart().isBefore(dto.getEnd())) {
+            log.warn("Некорректный период бронирования: start={}, end={}", dto.getStart(), dto.getEnd());
+            throw new IllegalArgumentException("Дата начала бронирования должна быть раньше даты окончания");
+        }
+    }
+
+    private BookingDto doCreate(BookingDto dto, Long userId) {
         User booker = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь не найден"));
-        Item item = itemRepository.findById(dto.getItemId())
+        Item item = itemRepository.findByIdForUpdate(dto.getItemId())
                 .orElseThrow(() -> new NotFoundException("Вещь не найдена"));
 
         if (!Boolean.TRUE.equals(item.getAvailable())) {
@@ -51,11 +156,18 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException("Нельзя бронировать свою вещь");
         }
 
+        if (!availabilityIndex.isFree(item.getId(), dto.getStart(), dto.getEnd())) {
+            log.warn("Вещь {} уже забронирована на период {} - {}", item.getId(), dto.getStart(), dto.getEnd());
+            throw new BookingConflictException("Вещь уже забронирована на выбранные даты");
+        }
+
         Booking booking = bookingMapper.toBooking(dto, item, booker);
         booking.setStatus(BookingStatus.WAITING);
 
         Booking saved = bookingRepository.save(booking);
-        log.info("Бронирование создано: {}", saved);
+        availabilityIndex.add(saved);
+        timelineIndex.onCreated(saved);
+        log.info("Бронирование {} создано: вещь {}, пользователь {}", saved.getId(), item.getId(), booker.getId());
 
         return bookingMapper.toBookingDto(saved);
     }
@@ -64,6 +176,13 @@ public class BookingServiceImpl implements BookingService {
     public BookingDto approve(Long bookingId, Long userId, Boolean approved) {
         log.debug("Подтверждение бронирования: bookingId={}, userId={}, approved={}", bookingId, userId, approved);
 
+        Long itemId = bookingRepository.findItemIdById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Бронирование не найдено"));
+
+        return itemLocks.withLock(itemId, () -> inTransaction(() -> doApprove(bookingId, userId, approved)));
+    }
+
+    private BookingDto doApprove(Long bookingId, Long userId, Boolean approved) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование не найдено"));
         Item item = booking.getItem();
@@ -80,12 +199,33 @@ public class BookingServiceImpl implements BookingService {
 
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
         Booking saved = bookingRepository.save(booking);
+        if (saved.getStatus() == BookingStatus.REJECTED) {
+            availabilityIndex.remove(saved);
+        } else {
+            bookingPointers.refresh(item.getId());
+        }
+        timelineIndex.onStatusChanged(saved);
 
         log.info("Бронирование {} обновлено, новый статус: {}", bookingId, saved.getStatus());
         return bookingMapper.toBookingDto(saved);
     }
 
+    private <T> T inTransaction(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    log.warn("Конкурентное изменение бронирования, попытки исчерпаны: {}", e.getMessage());
+                    throw e;
+                }
+                log.debug("Конкурентное изменение бронирования, повтор {} из {}", attempt + 1, MAX_ATTEMPTS);
+            }
+        }
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public BookingDto getById(Long bookingId, Long userId) {
         log.debug("Получение бронирования по ID: bookingId={}, userId={}", bookingId, userId);
 
@@ -97,81 +237,198 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException("Нет доступа к бронированию");
         }
 
-        log.info("Бронирование {} получено пользователем {}", bookingId, userId);
+        log.debug("Бронирование {} получено пользователем {}", bookingId, userId);
         return bookingMapper.toBookingDto(booking);
     }
 
     @Override
-    public List<BookingDto> getAll(State state, Long userId) {
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAll(State state, Long userId, int from, int size) {
+        boolean pinned = pinForTimelineWarmUp(BookingTimelineIndex.Side.BOOKER, userId);
+        try {
+            return findAll(state, userId, from, size);
+        } finally {
+            if (pinned) {
+                ReadWriteRoutingDataSource.unpin();
+            }
+        }
+    }
+
+    private List<BookingDto> findAll(State state, Long userId, int from, int size) {
         log.debug("Получение всех бронирований пользователя {} с фильтром {}", userId, state);
 
+        long startNanos = System.nanoTime();
         userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
 
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
+        Pageable page = Pagination.of(from, size, BOOKING_SORT);
         LocalDateTime now = LocalDateTime.now();
-        List<Booking> bookings;
-
-        switch (state) {
-            case CURRENT:
-                bookings = bookingRepository.findAllByBookerIdAndStartLessThanAndEndGreaterThan(userId, now, now, sort);
-                break;
-            case PAST:
-                bookings = bookingRepository.findAllByBookerIdAndEndLessThan(userId, now, sort);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findAllByBookerIdAndStartGreaterThan(userId, now, sort);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findAllByBookerIdAndStatusIn(userId, List.of(BookingStatus.WAITING), sort);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findAllByBookerIdAndStatusIn(userId, List.of(BookingStatus.REJECTED), sort);
-                break;
-            default:
-                bookings = bookingRepository.findAllByBookerId(userId, sort);
+        List<BookingView> bookings;
+
+        if (timelineIndex.isEnabled()) {
+            bookings = timelineIndex.find(BookingTimelineIndex.Side.BOOKER, userId, state, now, page);
+        } else {
+            switch (state) {
+                case CURRENT:
+                    bookings = bookingRepository.findBookerCurrentViews(userId, now, page);
+                    break;
+                case PAST:
+                    bookings = bookingRepository.findBookerPastViews(userId, now, page);
+                    break;
+                case FUTURE:
+                    bookings = bookingRepository.findBookerFutureViews(userId, now, page);
+                    break;
+                case WAITING:
+                    bookings = bookingRepository.findBookerViewsByStatus(userId, BookingStatus.WAITING, page);
+                    break;
+                case REJECTED:
+                    bookings = bookingRepository.findBookerViewsByStatus(userId, BookingStatus.REJECTED, page);
+                    break;
+                default:
+                    bookings = bookingRepository.findBookerViews(userId, page);
+            }
         }
 
         log.info("Найдено {} бронирований для пользователя {} с фильтром {}", bookings.size(), userId, state);
-        return bookings.stream().map(bookingMapper::toBookingDto).collect(Collectors.toList());
+        List<BookingDto> result = bookings.stream().map(bookingMapper::toBookingDto).collect(Collectors.toList());
+        serviceMetrics.recordBookerLookup(state, startNanos);
+        return result;
     }
 
     @Override
-    public List<BookingDto> getOwnerAll(State state, Long ownerId) {
+    @Transactional(readOnly = true)
+    public List<BookingDto> getOwnerAll(State state, Long ownerId, int from, int size) {
+        boolean pinned = pinForTimelineWarmUp(BookingTimelineIndex.Side.OWNER, ownerId);
+        try {
+            return findOwnerAll(state, ownerId, from, size);
+        } finally {
+            if (pinned) {
+                ReadWriteRoutingDataSource.unpin();
+            }
+        }
+    }
+
+    // A timeline miss is loaded inside this read-only transaction and then kept; pinning before the
+    // first statement routes that whole transaction to the primary on a single connection
+    private boolean pinForTimelineWarmUp(BookingTimelineIndex.Side side, Long userId) {
+        if (!timelineIndex.isEnabled() || timelineIndex.isCached(side, userId)
+                || ReadWriteRoutingDataSource.isPinned()) {
+            return false;
+        }
+        ReadWriteRoutingDataSource.pinToPrimary();
+        return true;
+    }
+
+    private List<BookingDto> findOwnerAll(State state, Long ownerId, int from, int size) {
         log.debug("Получение всех бронирований для вещей владельца {} с фильтром {}", ownerId, state);
 
+        long startNanos = System.nanoTime();
         userRepository.findById(ownerId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
 
-        List<Item> items = itemRepository.findByOwnerId(ownerId);
-        if (items.isEmpty()) {
-            log.info("У пользователя {} нет вещей", ownerId);
-            return Collections.emptyList();
-        }
-
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
+        Pageable page = Pagination.of(from, size, BOOKING_SORT);
         LocalDateTime now = LocalDateTime.now();
-        List<Booking> bookings;
-
-        switch (state) {
-            case CURRENT:
-                bookings = bookingRepository.findAllByItemInAndStartLessThanAndEndGreaterThan(items, now, now, sort);
-                break;
-            case PAST:
-                bookings = bookingRepository.findAllByItemInAndEndLessThan(items, now, sort);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findAllByItemInAndStartGreaterThan(items, now, sort);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findAllByItemInAndStatusIn(items, List.of(BookingStatus.WAITING), sort);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findAllByItemInAndStatusIn(items, List.of(BookingStatus.REJECTED), sort);
-                break;
-            default:
-                bookings = bookingRepository.findAllByItemIn(items, sort);
+        List<BookingView> bookings;
+
+        if (timelineIndex.isEnabled()) {
+            bookings = timelineIndex.find(BookingTimelineIndex.Side.OWNER, ownerId, state, now, page);
+        } else {
+            switch (state) {
+                case CURRENT:
+                    bookings = bookingRepository.findOwnerCurrentViews(ownerId, now, page);
+                    break;
+                case PAST:
+                    bookings = bookingRepository.findOwnerPastViews(ownerId, now, page);
+                    break;
+                case FUTURE:
+                    bookings = bookingRepository.findOwnerFutureViews(ownerId, now, page);
+                    break;
+                case WAITING:
+                    bookings = bookingRepository.findOwnerViewsByStatus(ownerId, BookingStatus.WAITING, page);
+                    break;
+                case REJECTED:
+                    bookings = bookingRepository.findOwnerViewsByStatus(ownerId, BookingStatus.REJECTED, page);
+                    break;
+                default:
+                    bookings = bookingRepository.findOwnerViews(ownerId, page);
+            }
         }
 
         log.info("Найдено {} бронирований для владельца {} с фильтром {}", bookings.size(), ownerId, state);
-        return bookings.stream().map(bookingMapper::toBookingDto).collect(Collectors.toList());
+        List<BookingDto> result = bookings.stream().map(bookingMapper::toBookingDto).collect(Collectors.toList());
+        serviceMetrics.recordOwnerLookup(state, startNanos);
+        return result;
+    }
+
+    @Override
+    public BookingExport exportAll(State state, Long userId) {
+        userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+        ExportFilter filter = ExportFilter.of(state, LocalDateTime.now());
+        return out -> export(out, "пользователя " + userId, () -> bookingRepository.streamBookerViews(userId,
+                filter.statuses(), filter.startAfter(), filter.startBefore(), filter.endAfter(), filter.endBefore()));
+    }
+
+    @Override
+    public BookingExport exportOwnerAll(State state, Long ownerId) {
+        userRepository.findById(ownerId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+        ExportFilter filter = ExportFilter.of(state, LocalDateTime.now());
+        return out -> export(out, "владельца " + ownerId, () -> bookingRepository.streamOwnerViews(ownerId,
+                filter.statuses(), filter.startAfter(), filter.startBefore(), filter.endAfter(), filter.endBefore()));
+    }
+
+    private void export(OutputStream out, String target, Supplier<Stream<BookingView>> query) throws IOException {
+        ObjectWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+
+        long exported;
+        try (SequenceWriter sequence = writer.writeValues(out)) {
+            exported = readOnly.execute(status -> {
+                long count = 0;
+                try (Stream<BookingView> views = query.get()) {
+                    Iterator<BookingView> iterator = views.iterator();
+                    while (iterator.hasNext()) {
+                        sequence.write(bookingMapper.toBookingDto(iterator.next()));
+                        count++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return count;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.write('\n');
+        out.flush();
+        log.info("Выгружено {} бронирований {}", exported, target);
+    }
+
+    private record ExportFilter(List<BookingStatus> statuses,
+                                LocalDateTime startAfter,
+                                LocalDateTime startBefore,
+                                LocalDateTime endAfter,
+                                LocalDateTime endBefore) {
+
+        private static final LocalDateTime MIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+        private static final LocalDateTime MAX = LocalDateTime.of(9999, 12, 31, 0, 0);
+        private static final List<BookingStatus> ANY = List.of(BookingStatus.values());
+
+        static ExportFilter of(State state, LocalDateTime now) {
+            switch (state) {
+                case CURRENT:
+                    return new ExportFilter(ANY, MIN, now, now, MAX);
+                case PAST:
+                    return new ExportFilter(ANY, MIN, MAX, MIN, now);
+                case FUTURE:
+                    return new ExportFilter(ANY, now, MAX, MIN, MAX);
+                case WAITING:
+                    return new ExportFilter(List.of(BookingStatus.WAITING), MIN, MAX, MIN, MAX);
+                case REJECTED:
+                    return new ExportFilter(List.of(BookingStatus.REJECTED), MIN, MAX, MIN, MAX);
+                default:
+                    return new ExportFilter(ANY, MIN, MAX, MIN, MAX);
+            }
+        }
     }
 }
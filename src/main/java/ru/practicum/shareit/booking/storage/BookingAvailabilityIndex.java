@@ -0,0 +1,280 @@
+package ru.practicum.shareit.booking.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.datasource.ReplicaReads;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class BookingAvailabilityIndex {
+
+    private static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    // Day 0 of the busy-day bitmaps; calendars cannot start earlier
+    public static final LocalDate CALENDAR_START = LocalDate.of(2000, 1, 1);
+    private static final long CALENDAR_BASE_DAY = CALENDAR_START.toEpochDay();
+    private static final long MICROS_PER_DAY = 86_400L * 1_000_000L;
+
+    private final BookingRepository bookingRepository;
+    private final ReplicaReads replicaReads;
+    private final boolean enabled;
+    private final int maxItems;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, ItemIntervals> intervals;
+
+    public BookingAvailabilityIndex(BookingRepository bookingRepository,
+                                    ReplicaReads replicaReads,
+                                    @Value("${shareit.booking.availability.index-enabled:false}") boolean enabled,
+                                    @Value("${shareit.booking.availability.max-items:10000}") int maxItems) {
+        if (maxItems <= 0) {
+            throw new IllegalArgumentException("Лимит вещей индекса занятости должен быть положительным");
+        }
+        this.bookingRepository = bookingRepository;
+        this.replicaReads = replicaReads;
+        this.enabled = enabled;
+        this.maxItems = maxItems;
+        this.intervals = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ItemIntervals> eldest) {
+                return size() > BookingAvailabilityIndex.this.maxItems;
+            }
+        };
+    }
+
+    // Callers hold the item row lock (findByIdForUpdate). The index only knows this instance's writes,
+    // so it may reject a known conflict early, but a free slot is always confirmed by the database
+    public boolean isFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (enabled && intervalsOf(itemId).overlaps(toMicros(start), toMicros(end))) {
+            return false;
+        }
+        return !bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(itemId, ACTIVE_STATUSES, end, start);
+    }
+
+    public BitSet busyDays(Long itemId, LocalDate from, LocalDate to) {
+        int fromIndex = dayIndex(from.toEpochDay());
+        int toIndex = dayIndex(to.toEpochDay()) + 1;
+        if (!enabled) {
+            ItemIntervals loaded = load(itemId);
+            return loaded.busyDays(fromIndex, toIndex);
+        }
+        return intervalsOf(itemId).busyDays(fromIndex, toIndex);
+    }
+
+    public void add(Booking booking) {
+        if (!enabled) {
+            return;
+        }
+        ItemIntervals itemIntervals = intervalsOf(booking.getItem().getId());
+        Interval interval = toInterval(booking.getId(), booking.getStart(), booking.getEnd());
+        itemIntervals.add(interval);
+        onRollback(() -> itemIntervals.remove(interval.bookingId()));
+    }
+
+    public void remove(Booking booking) {
+        if (!enabled) {
+            return;
+        }
+        ItemIntervals itemIntervals = intervalsOf(booking.getItem().getId());
+        Interval removed = itemIntervals.remove(booking.getId());
+        if (removed != null) {
+            onRollback(() -> itemIntervals.add(removed));
+        }
+    }
+
+    private ItemIntervals intervalsOf(Long itemId) {
+        lock.lock();
+        try {
+            ItemIntervals existing = intervals.get(itemId);
+            if (existing != null) {
+                return existing;
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Read-only callers (the calendar) may be served by a lagging replica: answer them, keep nothing
+        boolean fromReplica = replicaReads.active();
+        ItemIntervals loaded = load(itemId);
+        if (fromReplica) {
+            return loaded;
+        }
+        lock.lock();
+        try {
+            ItemIntervals existing = intervals.putIfAbsent(itemId, loaded);
+            return existing != null ? existing : loaded;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ItemIntervals load(Long itemId) {
+        ItemIntervals loaded = new ItemIntervals();
+        bookingRepository.findItemViewsByStatusIn(itemId, ACTIVE_STATUSES)
+                .forEach(view -> loaded.add(toInterval(view)));
+        log.debug("Загружены интервалы бронирований вещи {}: {}", itemId, loaded.size());
+        return loaded;
+    }
+
+    private static void onRollback(Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    undo.run();
+                }
+            }
+        });
+    }
+
+    private static Interval toInterval(BookingView view) {
+        return toInterval(view.id(), view.start(), view.end());
+    }
+
+    private static Interval toInterval(Long bookingId, LocalDateTime start, LocalDateTime end) {
+        return new Interval(toMicros(start), toMicros(end), bookingId);
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static int dayIndex(long epochDay) {
+        return Math.toIntExact(epochDay - CALENDAR_BASE_DAY);
+    }
+
+    private record Interval(long start, long end, long bookingId) {
+
+        int firstDay() {
+            return dayIndex(Math.floorDiv(start, MICROS_PER_DAY));
+        }
+
+        int lastDay() {
+            return dayIndex(Math.floorDiv(end - 1, MICROS_PER_DAY));
+        }
+    }
+
+    private static final class ItemIntervals {
+        private static final Comparator<Interval> ORDER = Comparator.comparingLong(Interval::start)
+                .thenComparingLong(Interval::bookingId);
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final TreeSet<Interval> byStart = new TreeSet<>(ORDER);
+        private final Map<Long, Interval> byBooking = new HashMap<>();
+        private final BitSet days = new BitSet();
+        // Longest interval ever added: stored intervals may overlap each other, so the one starting
+        // right before a window is not the only candidate; anything starting within maxDuration is
+        private long maxDuration;
+
+        boolean overlaps(long start, long end) {
+            lock.lock();
+            try {
+                for (Interval candidate : startingWithin(start, end)) {
+                    if (candidate.end() > start) {
+                        return true;
+                    }
+                }
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void add(Interval interval) {
+            lock.lock();
+            try {
+                Interval previous = byBooking.put(interval.bookingId(), interval);
+                if (previous != null) {
+                    byStart.remove(previous);
+                }
+                byStart.add(interval);
+                maxDuration = Math.max(maxDuration, interval.end() - interval.start());
+                if (previous != null) {
+                    refreshDays(previous);
+                }
+                markDays(interval.firstDay(), interval.lastDay());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Interval remove(long bookingId) {
+            lock.lock();
+            try {
+                Interval removed = byBooking.remove(bookingId);
+                if (removed != null) {
+                    byStart.remove(removed);
+                    refreshDays(removed);
+                }
+                return removed;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        BitSet busyDays(int fromIndex, int toIndex) {
+            lock.lock();
+            try {
+                return days.get(fromIndex, toIndex);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void refreshDays(Interval removed) {
+            int firstDay = removed.firstDay();
+            int lastDay = removed.lastDay();
+            if (lastDay < 0) {
+                return;
+            }
+            days.clear(Math.max(0, firstDay), lastDay + 1);
+
+            long windowStart = (firstDay + CALENDAR_BASE_DAY) * MICROS_PER_DAY;
+            long windowEnd = (lastDay + 1 + CALENDAR_BASE_DAY) * MICROS_PER_DAY;
+            for (Interval neighbour : startingWithin(windowStart, windowEnd)) {
+                if (neighbour.end() > windowStart) {
+                    markDays(Math.max(firstDay, neighbour.firstDay()), Math.min(lastDay, neighbour.lastDay()));
+                }
+            }
+        }
+
+        // Days before CALENDAR_START have no bits; intervals reaching back there keep only their later days
+        private void markDays(int firstDay, int lastDay) {
+            if (lastDay >= 0) {
+                days.set(Math.max(0, firstDay), lastDay + 1);
+            }
+        }
+
+        // Intervals that can overlap [start, end): those starting before end but after start - maxDuration
+        private NavigableSet<Interval> startingWithin(long start, long end) {
+            long from = start - maxDuration;
+            if (from >= end) {
+                return Collections.emptyNavigableSet();
+            }
+            return byStart.subSet(new Interval(from, from, Long.MAX_VALUE), false,
+                    new Interval(end, end, Long.MIN_VALUE), false);
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return byBooking.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package ru.practicum.shareit.booking.storage;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.dto.State;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.datasource.ReplicaReads;
+import ru.practicum.shareit.event.DomainEvent;
+import ru.practicum.shareit.event.DomainEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class BookingTimelineIndex implements MeterBinder, DomainEventListener {
+
+    public enum Side { BOOKER, OWNER }
+
+    private static final int STAMP_STRIPES = 1024;
+    private static final Comparator<BookingView> TIMELINE_ORDER = Comparator
+            .comparing(BookingView::start).reversed()
+            .thenComparing(Comparator.comparing(BookingView::id).reversed());
+
+    private final BookingRepository bookingRepository;
+    private final ReplicaReads replicaReads;
+    private final boolean enabled;
+    private final int maxUsers;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Side, LinkedHashMap<Long, Timeline>> timelines = new EnumMap<>(Side.class);
+    // Bumped by every applied write: a lazy load only caches its result if nothing changed meanwhile
+    private final long[] stamps = new long[STAMP_STRIPES];
+    private long epoch;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BookingTimelineIndex(BookingRepository bookingRepository,
+                                ReplicaReads replicaReads,
+                                @Value("${shareit.booking.timeline.index-enabled:false}") boolean enabled,
+                                @Value("${shareit.booking.timeline.max-users:10000}") int maxUsers) {
+        if (maxUsers <= 0) {
+            throw new IllegalArgumentException("Лимит пользователей индекса бронирований должен быть положительным");
+        }
+        this.bookingRepository = bookingRepository;
+        this.replicaReads = replicaReads;
+        this.enabled = enabled;
+        this.maxUsers = maxUsers;
+        for (Side side : Side.values()) {
+            timelines.put(side, new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Timeline> eldest) {
+                    if (size() > BookingTimelineIndex.this.maxUsers) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            });
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isCached(Side side, Long userId) {
+        lock.lock();
+        try {
+            return timelines.get(side).containsKey(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<BookingView> find(Side side, Long userId, State state, LocalDateTime now, Pageable page) {
+        return timeline(side, userId).select(state, toMicros(now), (int) page.getOffset(), page.getPageSize());
+    }
+
+    public void onCreated(Booking booking) {
+        onStatusChanged(booking);
+    }
+
+    public void onStatusChanged(Booking booking) {
+        if (!enabled) {
+            return;
+        }
+        BookingView view = new BookingView(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                booking.getItem().getId(), booking.getItem().getName(), booking.getBooker().getId());
+        Long ownerId = booking.getItem().getOwnerId();
+        afterCommit(() -> {
+            apply(Side.BOOKER, view.bookerId(), view);
+            apply(Side.OWNER, ownerId, view);
+        });
+    }
+
+    // Item names are copied into the timelines; a rename drops every timeline that mentions the item
+    @Override
+    public void on(DomainEvent event) {
+        if (!enabled || !(event instanceof DomainEvent.ItemUpdated updated)) {
+            return;
+        }
+        lock.lock();
+        try {
+            epoch++;
+            timelines.get(Side.OWNER).remove(updated.ownerId());
+            timelines.get(Side.BOOKER).values().removeIf(timeline -> timeline.mentions(updated.itemId()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Timeline timeline(Side side, Long userId) {
+        int stripe = stripe(side, userId);
+        long stamp;
+        long seenEpoch;
+        lock.lock();
+        try {
+            Timeline cached = timelines.get(side).get(userId);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            stamp = stamps[stripe];
+            seenEpoch = epoch;
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        // Loaded in the caller's transaction; callers pin misses to the primary, and a load that still
+        // went to a lagging replica (evicted after the caller checked) is served but not kept
+        boolean fromReplica = replicaReads.active();
+        List<BookingView> views = side == Side.BOOKER
+                ? bookingRepository.findBookerTimeline(userId)
+                : bookingRepository.findOwnerTimeline(userId);
+        Timeline loaded = new Timeline(views);
+        log.debug("Загружена лента бронирований ({}) пользователя {}: {}", side, userId, views.size());
+        if (fromReplica) {
+            return loaded;
+        }
+
+        lock.lock();
+        try {
+            if (stamps[stripe] == stamp && epoch == seenEpoch) {
+                timelines.get(side).putIfAbsent(userId, loaded);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return loaded;
+    }
+
+    private void apply(Side side, Long userId, BookingView view) {
+        lock.lock();
+        try {
+            stamps[stripe(side, userId)]++;
+            Timeline cached = timelines.get(side).get(userId);
+            if (cached != null) {
+                timelines.get(side).put(userId, cached.with(view));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static int stripe(Side side, Long userId) {
+        return Math.floorMod(Long.hashCode(userId) * 31 + side.ordinal(), STAMP_STRIPES);
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    public int trackedUsers() {
+        lock.lock();
+        try {
+            return timelines.values().stream().mapToInt(Map::size).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("shareit.bookings.timeline.users", this, BookingTimelineIndex::trackedUsers)
+                .description("Ленты бронирований в памяти")
+                .register(registry);
+        FunctionCounter.builder("shareit.bookings.timeline.lookups", hits, LongAdder::sum)
+                .description("Обращения к ленте бронирований")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("shareit.bookings.timeline.lookups", misses, LongAdder::sum)
+                .description("Обращения к ленте бронирований")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("shareit.bookings.timeline.evictions", evictions, LongAdder::sum)
+                .description("Ленты, вытесненные по LRU")
+                .register(registry);
+    }
+
+    // Immutable snapshot ordered by start DESC, id DESC like BookingServiceImpl.BOOKING_SORT;
+    // writers replace it, readers never lock
+    private static final class Timeline {
+        private final BookingView[] views;
+        private final long[] starts;
+        private final long[] ends;
+        private final BitSet waiting = new BitSet();
+        private final BitSet rejected = new BitSet();
+        // Bounds the CURRENT/PAST scans: nothing starting earlier than now - maxDuration can still be running
+        private final long maxDuration;
+
+        Timeline(List<BookingView> sorted) {
+            this.views = sorted.toArray(new BookingView[0]);
+            this.starts = new long[views.length];
+            this.ends = new long[views.length];
+            long longest = 0;
+            for (int i = 0; i < views.length; i++) {
+                starts[i] = toMicros(views[i].start());
+                ends[i] = toMicros(views[i].end());
+                longest = Math.max(longest, ends[i] - starts[i]);
+                if (views[i].status() == BookingStatus.WAITING) {
+                    waiting.set(i);
+                } else if (views[i].status() == BookingStatus.REJECTED) {
+                    rejected.set(i);
+                }
+            }
+            this.maxDuration = longest;
+        }
+
+        Timeline with(BookingView view) {
+            List<BookingView> copy = new ArrayList<>(views.length + 1);
+            for (BookingView existing : views) {
+                if (!existing.id().equals(view.id())) {
+                    copy.add(existing);
+                }
+            }
+            int position = Collections.binarySearch(copy, view, TIMELINE_ORDER);
+            copy.add(position < 0 ? -position - 1 : position, view);
+            return new Timeline(copy);
+        }
+
+        boolean mentions(Long itemId) {
+            for (BookingView view : views) {
+                if (view.itemId().equals(itemId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        List<BookingView> select(State state, long now, int offset, int limit) {
+            int startedIndex = firstStartingBefore(now);
+            switch (state) {
+                case FUTURE:
+                    // start > now is the prefix before the first start <= now
+                    return slice(0, firstStartingBefore(now + 1), offset, limit);
+                case CURRENT: {
+                    int settled = firstStartingBefore(now - maxDuration);
+                    List<BookingView> result = new ArrayList<>();
+                    int skip = offset;
+                    for (int i = startedIndex; i < settled && result.size() < limit; i++) {
+                        if (ends[i] > now && skip-- <= 0) {
+                            result.add(views[i]);
+                        }
+                    }
+                    return result;
+                }
+                case PAST: {
+                    // Everything from settled on has ended; only the window before it needs the end check
+                    int settled = firstStartingBefore(now - maxDuration);
+                    List<BookingView> result = new ArrayList<>();
+                    int skip = offset;
+                    for (int i = startedIndex; i < settled && result.size() < limit; i++) {
+                        if (ends[i] < now && skip-- <= 0) {
+                            result.add(views[i]);
+                        }
+                    }
+                    if (result.size() < limit) {
+                        result.addAll(slice(settled, views.length, skip, limit - result.size()));
+                    }
+                    return result;
+                }
+                case WAITING:
+                    return select(waiting, offset, limit);
+                case REJECTED:
+                    return select(rejected, offset, limit);
+                default:
+                    return slice(0, views.length, offset, limit);
+            }
+        }
+
+        // First index whose start is strictly below bound; starts are descending
+        private int firstStartingBefore(long bound) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < bound) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        private List<BookingView> slice(int from, int to, int offset, int limit) {
+            int begin = from + Math.max(offset, 0);
+            int end = (int) Math.min(to, (long) begin + limit);
+            if (begin >= end) {
+                return new ArrayList<>();
+            }
+            return new ArrayList<>(Arrays.asList(views).subList(begin, end));
+        }
+
+        private List<BookingView> select(BitSet statuses, int offset, int limit) {
+            List<BookingView> result = new ArrayList<>();
+            int skip = offset;
+            for (int i = statuses.nextSetBit(0); i >= 0 && result.size() < limit; i = statuses.nextSetBit(i + 1)) {
+                if (skip-- <= 0) {
+                    result.add(views[i]);
+                }
+            }
+            return result;
+        }
+    }
+}
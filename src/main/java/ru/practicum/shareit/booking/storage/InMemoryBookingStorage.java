@@ -5,18 +5,25 @@ import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class InMemoryBookingStorage {
-    private final Map<Long, Booking> bookings = new HashMap<>();
-    private long idCounter = 1;
+    private final Map<Long, Booking> bookings = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> bookingsByItem = new ConcurrentHashMap<>();
+    private final AtomicLong idCounter = new AtomicLong(1);
 
     public Booking create(Booking booking) {
-        booking.setId(idCounter++);
+        booking.setId(idCounter.getAndIncrement());
         bookings.put(booking.getId(), booking);
-        log.info("Бронирование добавлено: {}", booking);
+        if (booking.getItem() != null && booking.getItem().getId() != null) {
+            bookingsByItem.computeIfAbsent(booking.getItem().getId(), k -> ConcurrentHashMap.newKeySet())
+                    .add(booking.getId());
+        }
+        log.info("Бронирование добавлено с ID {}", booking.getId());
         return booking;
     }
 
@@ -26,10 +33,9 @@ public class InMemoryBookingStorage {
             return Collections.emptyList();
         }
 
-        return bookings.values().stream()
+        return bookingsByItem.getOrDefault(itemId, Collections.emptySet()).stream()
+                .map(bookings::get)
                 .filter(Objects::nonNull)
-                .filter(booking -> booking.getItem() != null)
-                .filter(booking -> itemId.equals(booking.getItem().getId()))
                 .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.common;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchEntryDto<T> {
+    private Integer index;
+
+    private T result;
+
+    private String error;
+
+    public static <T> BatchEntryDto<T> success(int index, T result) {
+        return BatchEntryDto.<T>builder().index(index).result(result).build();
+    }
+
+    public static <T> BatchEntryDto<T> failure(int index, String error) {
+        return BatchEntryDto.<T>builder().index(index).error(error).build();
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.common;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDto<T> {
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private Integer succeeded;
+
+    private Integer failed;
+
+    private List<BatchEntryDto<T>> results;
+
+    public static <T> BatchResultDto<T> of(List<BatchEntryDto<T>> results) {
+        int failed = (int) results.stream().filter(entry -> entry.getError() != null).count();
+        return BatchResultDto.<T>builder()
+                .succeeded(results.size() - failed)
+                .failed(failed)
+                .results(results)
+                .build();
+    }
+
+    public static void checkSize(List<?> batch) {
+        if (batch == null || batch.isEmpty()) {
+            throw new IllegalArgumentException("Пакет не может быть пустым");
+        }
+        if (batch.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Пакет не может содержать более " + MAX_BATCH_SIZE + " элементов");
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+// Cached entities are shared by every request: each put stores a detached copy and each hit hands out
+// its own copy, so neither a persistence context nor a caller's setter can change what others read
+final class DetachedCopyCache implements Cache {
+    private final Cache target;
+
+    DetachedCopyCache(Cache target) {
+        this.target = target;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = target.get(key);
+        return wrapper != null ? new SimpleValueWrapper(copyOf(wrapper.get())) : null;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return type != null ? type.cast(copyOf(target.get(key, type))) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) copyOf(target.get(key, () -> copyOf(valueLoader.call())));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        target.put(key, copyOf(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = target.putIfAbsent(key, copyOf(value));
+        return existing != null ? new SimpleValueWrapper(copyOf(existing.get())) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        target.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return target.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        target.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return target.invalidate();
+    }
+
+    private static Object copyOf(Object value) {
+        if (value instanceof Item item) {
+            return item.toBuilder().build();
+        }
+        if (value instanceof User user) {
+            return user.toBuilder().build();
+        }
+        // Comments are read with their author fetched; the lazy item association is not carried over
+        if (value instanceof Comment comment) {
+            return comment.toBuilder()
+                    .item(null)
+                    .author(comment.getAuthor() != null ? comment.getAuthor().toBuilder().build() : null)
+                    .build();
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(element -> copy.add(copyOf(element)));
+            return copy;
+        }
+        return value;
+    }
+}
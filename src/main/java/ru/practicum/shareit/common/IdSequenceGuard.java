@@ -0,0 +1,45 @@
+package ru.practicum.shareit.common;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.util.Map;
+
+// items and bookings moved from IDENTITY ids to pooled sequences: on a database created before the switch the
+// sequences start at 1 and would hand out ids that already exist until db/one-off/001 is applied.
+// Refuse to start instead of failing inserts one by one
+@Slf4j
+@Component
+@DependsOnDatabaseInitialization
+@RequiredArgsConstructor
+public class IdSequenceGuard {
+    private static final Map<String, String> SEQUENCES = Map.of("items", "items_seq", "bookings", "bookings_seq");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void check() throws Exception {
+        String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                DatabaseMetaData::getDatabaseProductName);
+        // schema.sql creates the sequences on every database; the in-memory test databases never had identity rows
+        if (!"PostgreSQL".equals(product)) {
+            return;
+        }
+        SEQUENCES.forEach((table, sequence) -> {
+            long lastValue = jdbcTemplate.queryForObject("SELECT last_value FROM " + sequence, Long.class);
+            long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            if (lastValue < maxId) {
+                throw new IllegalStateException(String.format("Последовательность %s (%d) отстаёт от max(id) таблицы"
+                        + " %s (%d): примените db/one-off/001_move_id_sequences_past_identity_rows.sql",
+                        sequence, lastValue, table, maxId));
+            }
+            log.debug("Последовательность {} ({}) опережает max(id) таблицы {} ({})", sequence, lastValue, table, maxId);
+        });
+    }
+}
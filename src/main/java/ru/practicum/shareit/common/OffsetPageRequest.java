@@ -0,0 +1,38 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.Objects;
+
+// PageRequest can only express offsets that are multiples of the page size; from/size can be any pair
+final class OffsetPageRequest extends PageRequest {
+
+    private final long offset;
+
+    OffsetPageRequest(long offset, int size, Sort sort) {
+        super((int) (offset / size), size, sort);
+        this.offset = offset;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OffsetPageRequest that)) {
+            return false;
+        }
+        return offset == that.offset && getPageSize() == that.getPageSize() && getSort().equals(that.getSort());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, getPageSize(), getSort());
+    }
+}
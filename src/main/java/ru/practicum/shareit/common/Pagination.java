@@ -0,0 +1,37 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+public final class Pagination {
+
+    public static final int MAX_PAGE_SIZE = 100;
+    // Requests without size get the largest page rather than the whole history
+    public static final int DEFAULT_PAGE_SIZE = MAX_PAGE_SIZE;
+
+    private Pagination() {
+    }
+
+    public static Pageable of(int from, int size, Sort sort) {
+        if (from < 0) {
+            throw new IllegalArgumentException("Параметр from не может быть отрицательным");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Параметр size должен быть положительным");
+        }
+        return new OffsetPageRequest(from, Math.min(size, MAX_PAGE_SIZE), sort);
+    }
+
+    public static int sizeOrDefault(Integer size) {
+        return size != null ? size : DEFAULT_PAGE_SIZE;
+    }
+
+    // First page only: keyset queries carry their own ORDER BY and position condition
+    public static Pageable limit(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Параметр size должен быть положительным");
+        }
+        return PageRequest.of(0, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
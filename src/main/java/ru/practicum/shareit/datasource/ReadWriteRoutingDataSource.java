@@ -0,0 +1,36 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    // Called when the physical connection is first needed (behind LazyConnectionDataSourceProxy),
+    // i.e. after the transaction has been marked read-only
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return routesToReplica() ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    static boolean routesToReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PRIMARY_PINNED.get() == null;
+    }
+
+    public static void pinToPrimary() {
+        PRIMARY_PINNED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinned() {
+        return PRIMARY_PINNED.get() != null;
+    }
+
+    public static void unpin() {
+        PRIMARY_PINNED.remove();
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// In-process caches outlive replication lag, so they must only be filled from primary reads
+@Component
+public class ReplicaReads {
+
+    private final boolean enabled;
+
+    public ReplicaReads(@Value("${shareit.datasource.replica.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    // True when a statement issued now would be served by the replica
+    public boolean active() {
+        return enabled && ReadWriteRoutingDataSource.routesToReplica();
+    }
+}
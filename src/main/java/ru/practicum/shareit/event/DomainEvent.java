@@ -0,0 +1,19 @@
+package ru.practicum.shareit.event;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+// Only events with a listener are published: each one costs an outbox row in the writing transaction
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = DomainEvent.ItemUpdated.class, name = "ItemUpdated")
+})
+public sealed interface DomainEvent {
+
+    default String type() {
+        return getClass().getSimpleName();
+    }
+
+    record ItemUpdated(Long itemId, Long ownerId) implements DomainEvent {
+    }
+}
@@ -0,0 +1,212 @@
+package ru.practicum.shareit.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+public class DomainEventBus {
+
+    public record Envelope(long outboxId, LocalDateTime created, DomainEvent event) {
+    }
+
+    private final ArrayBlockingQueue<Envelope> ring;
+    private final List<DomainEventListener> listeners;
+    private final OutboxEventRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+    private final int batchSize;
+    private final Duration sweepInterval;
+    private final Duration sweepDelay;
+    private final Duration retention;
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+    private final Map<String, Counter> dispatchedByType = new ConcurrentHashMap<>();
+    private final Counter overflow;
+    private final Counter failures;
+    private final Counter recovered;
+    private final Timer lag;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+    private long lastSweep;
+
+    public DomainEventBus(List<DomainEventListener> listeners,
+                          OutboxEventRepository outboxRepository,
+                          ObjectMapper objectMapper,
+                          MeterRegistry registry,
+                          @Value("${shareit.events.ring-capacity:8192}") int capacity,
+                          @Value("${shareit.events.batch-size:256}") int batchSize,
+                          @Value("${shareit.events.sweep-interval:5s}") Duration sweepInterval,
+                          @Value("${shareit.events.sweep-delay:30s}") Duration sweepDelay,
+                          @Value("${shareit.events.retention:1h}") Duration retention) {
+        this.ring = new ArrayBlockingQueue<>(capacity);
+        this.listeners = listeners;
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        this.batchSize = batchSize;
+        this.sweepInterval = sweepInterval;
+        this.sweepDelay = sweepDelay;
+        this.retention = retention;
+        Gauge.builder("shareit.events.queue.size", ring, ArrayBlockingQueue::size)
+                .description("События, ожидающие доставки")
+                .register(registry);
+        Gauge.builder("shareit.events.queue.remaining", ring, ArrayBlockingQueue::remainingCapacity)
+                .description("Свободное место в очереди событий")
+                .register(registry);
+        this.overflow = Counter.builder("shareit.events.overflow")
+                .description("События, не поместившиеся в очередь и оставленные в outbox")
+                .register(registry);
+        this.failures = Counter.builder("shareit.events.listener.failures")
+                .description("Ошибки обработчиков событий")
+                .register(registry);
+        this.recovered = Counter.builder("shareit.events.recovered")
+                .description("События, доставленные из outbox повторным проходом")
+                .register(registry);
+        this.lag = Timer.builder("shareit.events.lag")
+                .description("Задержка от записи события до его доставки")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.lastSweep = System.nanoTime();
+        this.dispatcher = new Thread(this::run, "domain-event-dispatcher");
+        this.dispatcher.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        dispatcher.interrupt();
+        dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    // Never blocks the committing thread: when the ring is full the event stays in the outbox
+    // and the sweeper picks it up once the dispatcher catches up
+    public boolean offer(Envelope envelope) {
+        if (ring.offer(envelope)) {
+            return true;
+        }
+        overflow.increment();
+        overflowed.set(true);
+        return false;
+    }
+
+    private void run() {
+        List<Envelope> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Envelope first = ring.poll(sweepInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    ring.drainTo(batch, batchSize - 1);
+                    dispatch(batch);
+                    batch.clear();
+                }
+                if (first == null || overflowed.get()
+                        || System.nanoTime() - lastSweep > sweepInterval.toNanos()) {
+                    sweep();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                batch.clear();
+                log.warn("Ошибка доставки событий: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void dispatch(List<Envelope> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (Envelope envelope : batch) {
+            DomainEvent event = envelope.event();
+            for (DomainEventListener listener : listeners) {
+                try {
+                    listener.on(event);
+                } catch (RuntimeException e) {
+                    failures.increment();
+                    log.warn("Обработчик {} не обработал событие {} (outbox {}): {}",
+                            listener.getClass().getSimpleName(), event.type(), envelope.outboxId(), e.getMessage());
+                }
+            }
+            lag.record(Duration.between(envelope.created(), now));
+            dispatchedCounter(event.type()).increment();
+            ids.add(envelope.outboxId());
+        }
+        // One UPDATE per batch; if it fails the rows are re-delivered by the sweeper (at-least-once)
+        try {
+            outboxRepository.markDispatched(ids);
+        } catch (DataAccessException e) {
+            log.warn("Не удалось отметить доставленные события: {}", e.getMessage());
+        }
+    }
+
+    // Recovers events lost to overflow or to a crash between commit and dispatch
+    private void sweep() {
+        lastSweep = System.nanoTime();
+        overflowed.set(false);
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> pending = outboxRepository.findPendingBefore(
+                    now.minus(sweepDelay), PageRequest.of(0, batchSize));
+            if (!pending.isEmpty()) {
+                List<Envelope> batch = new ArrayList<>(pending.size());
+                List<Long> broken = new ArrayList<>();
+                for (OutboxEvent row : pending) {
+                    try {
+                        batch.add(new Envelope(row.getId(), row.getCreated(),
+                                objectMapper.readValue(row.getPayload(), DomainEvent.class)));
+                    } catch (JsonProcessingException e) {
+                        log.warn("Событие outbox {} не читается и будет пропущено: {}", row.getId(), e.getMessage());
+                        broken.add(row.getId());
+                    }
+                }
+                if (!broken.isEmpty()) {
+                    outboxRepository.markDispatched(broken);
+                }
+                recovered.increment(batch.size());
+                dispatch(batch);
+                // A full page means more is waiting: keep sweeping on the next loop
+                overflowed.compareAndSet(false, pending.size() == batchSize);
+            }
+            int removed = outboxRepository.deleteDispatchedBefore(now.minus(retention));
+            if (removed > 0) {
+                log.debug("Удалено доставленных событий из outbox: {}", removed);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Не удалось прочитать outbox: {}", e.getMessage());
+        }
+    }
+
+    private Counter dispatchedCounter(String type) {
+        return dispatchedByType.computeIfAbsent(type, t -> Counter.builder("shareit.events.dispatched")
+                .description("Доставленные события")
+                .tag("type", t)
+                .register(registry));
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.event;
+
+// Called on the single dispatcher thread after commit, at least once per event: implementations must be
+// idempotent and fast, anything slow belongs on the listener's own executor
+public interface DomainEventListener {
+
+    void on(DomainEvent event);
+}
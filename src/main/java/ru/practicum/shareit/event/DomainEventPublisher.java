@@ -0,0 +1,49 @@
+package ru.practicum.shareit.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class DomainEventPublisher {
+
+    private final OutboxEventRepository outboxRepository;
+    private final DomainEventBus bus;
+    private final ObjectMapper objectMapper;
+
+    // The outbox row is written in the caller's transaction, so an event exists if and only if the change
+    // committed; the in-memory hand-off happens only after commit
+    public void publish(DomainEvent event) {
+        OutboxEvent row = outboxRepository.save(OutboxEvent.builder()
+                .eventType(event.type())
+                .payload(serialize(event))
+                .created(LocalDateTime.now())
+                .dispatched(false)
+                .build());
+        DomainEventBus.Envelope envelope = new DomainEventBus.Envelope(row.getId(), row.getCreated(), event);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bus.offer(envelope);
+                }
+            });
+        } else {
+            bus.offer(envelope);
+        }
+    }
+
+    private String serialize(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать событие " + event.type(), e);
+        }
+    }
+}
@@ -3,11 +3,16 @@ package ru.practicum.shareit.item.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.common.BatchResultDto;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Slf4j
@@ -24,15 +29,23 @@ public class ItemController {
     public ItemDto create(@RequestHeader(USER_ID_HEADER) Long userId,
                           @Valid @RequestBody ItemDto itemDto,
                           @RequestParam(required = false) Long requestId) {
-        log.info("Запрос POST /items - создание вещи пользователем {}: {}", userId, itemDto);
+        log.info("Запрос POST /items - создание вещи пользователем {}", userId);
         return itemService.create(userId, itemDto, requestId);
     }
 
+    @PostMapping("/batch")
+    public BatchResultDto<ItemDto> createBatch(@RequestHeader(USER_ID_HEADER) Long userId,
+                                               @RequestBody List<ItemDto> itemDtos) {
+        log.info("Запрос POST /items/batch - пакетное создание {} вещей пользователем {}",
+                itemDtos != null ? itemDtos.size() : 0, userId);
+        return itemService.createBatch(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto update(@RequestHeader(USER_ID_HEADER) Long userId,
                           @PathVariable Long itemId,
                           @RequestBody ItemDto itemDto) {
-        log.info("Запрос PATCH /items/{} - обновление вещи пользователем {}: {}", itemId, userId, itemDto);
+        log.info("Запрос PATCH /items/{} - обновление вещи пользователем {}", itemId, userId);
         return itemService.update(userId, itemId, itemDto);
     }
 
@@ -46,9 +59,17 @@ public class ItemController {
     @GetMapping
     public List<ItemDto> findAllByOwner(@RequestHeader(USER_ID_HEADER) Long userId,
                                         @RequestParam(defaultValue = "0") int from,
-                                        @RequestParam(defaultValue = "10") int size) {
+                                        @RequestParam(required = false) Integer size) {
         log.info("Запрос GET /items - получение всех вещей пользователя {}", userId);
-        return itemService.findAllByOwner(userId);
+        return itemService.findAllByOwner(userId, from, Pagination.sizeOrDefault(size));
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public List<AvailabilitySlotDto> getAvailability(@PathVariable Long itemId,
+                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Запрос GET /items/{}/availability?from={}&to={} - календарь занятости вещи", itemId, from, to);
+        return itemService.getAvailability(itemId, from, to);
     }
 
     @GetMapping("/search")
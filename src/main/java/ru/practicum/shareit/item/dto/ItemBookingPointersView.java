@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+public record ItemBookingPointersView(Long itemId,
+                                      Long lastBookingId,
+                                      Long nextBookingId,
+                                      LocalDateTime validUntil) {
+
+    // null means never computed; at validUntil a booking starts or ends and the pointers must move
+    public boolean isValidAt(LocalDateTime now) {
+        return validUntil != null && now.isBefore(validUntil);
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item.dto;
+
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+// An item's booking pointers together with the bookings they point to, read in one query;
+// the booking columns are null when a pointer is empty
+public record ItemPointedBookingsView(Long itemId,
+                                      String itemName,
+                                      LocalDateTime validUntil,
+                                      Long lastId,
+                                      LocalDateTime lastStart,
+                                      LocalDateTime lastEnd,
+                                      BookingStatus lastStatus,
+                                      Long lastBookerId,
+                                      Long nextId,
+                                      LocalDateTime nextStart,
+                                      LocalDateTime nextEnd,
+                                      BookingStatus nextStatus,
+                                      Long nextBookerId) {
+
+    public ItemBookingPointersView pointers() {
+        return new ItemBookingPointersView(itemId, lastId, nextId, validUntil);
+    }
+
+    public BookingView lastBooking() {
+        return lastId == null ? null
+                : new BookingView(lastId, lastStart, lastEnd, lastStatus, itemId, itemName, lastBookerId);
+    }
+
+    public BookingView nextBooking() {
+        return nextId == null ? null
+                : new BookingView(nextId, nextStart, nextEnd, nextStatus, itemId, itemName, nextBookerId);
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.mapper;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.model.Comment;
@@ -26,7 +27,9 @@ public class CommentMapper {
         log.debug("Начало маппинга Comment в CommentDto: {}", comment);
 
         String authorName = null;
-        if (comment.getAuthorId() != null) {
+        if (comment.getAuthor() != null && Hibernate.isInitialized(comment.getAuthor())) {
+            authorName = comment.getAuthor().getName();
+        } else if (comment.getAuthorId() != null) {
             User author = userRepository.findById(comment.getAuthorId()).orElse(null);
             authorName = author != null ? author.getName() : null;
             log.debug("Найден автор для комментария: authorId={}, authorName={}", comment.getAuthorId(), authorName);
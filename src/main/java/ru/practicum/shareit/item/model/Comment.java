@@ -7,11 +7,12 @@ import ru.practicum.shareit.user.model.User;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = @Index(name = "idx_comments_item_created", columnList = "item_id, created DESC"))
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
+@ToString(exclude = {"item", "author"})
 public class Comment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -3,15 +3,22 @@ package ru.practicum.shareit.item.model;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "items")
+@Table(name = "items", indexes = {
+        @Index(name = "idx_items_owner", columnList = "owner_id"),
+        @Index(name = "idx_items_request", columnList = "request_id"),
+        @Index(name = "idx_items_bookings_valid_until", columnList = "bookings_valid_until")
+})
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -28,4 +35,19 @@ public class Item {
 
     @Column(name = "request_id")
     private Long requestId;
+
+    // Written only by ItemBookingPointers through bulk updates: saving an item never touches them,
+    // and moving them neither bumps the version nor conflicts with the owner's edits
+    @Column(name = "last_booking_id", insertable = false, updatable = false)
+    private Long lastBookingId;
+
+    @Column(name = "next_booking_id", insertable = false, updatable = false)
+    private Long nextBookingId;
+
+    @Column(name = "bookings_valid_until", insertable = false, updatable = false)
+    private LocalDateTime bookingsValidUntil;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
\ No newline at end of file
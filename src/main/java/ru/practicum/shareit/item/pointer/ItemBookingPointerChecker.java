@@ -0,0 +1,98 @@
+package ru.practicum.shareit.item.pointer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemBookingPointersView;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Slf4j
+@Component
+public class ItemBookingPointerChecker {
+
+    public record Result(int scanned, long lastItemId, List<Long> mismatched) {
+    }
+
+    private final ItemRepository itemRepository;
+    private final ItemBookingPointers pointers;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageSize;
+    private final Counter checked;
+    private final Counter mismatches;
+    private long cursor;
+
+    public ItemBookingPointerChecker(ItemRepository itemRepository,
+                                     ItemBookingPointers pointers,
+                                     TransactionTemplate transactionTemplate,
+                                     @Value("${shareit.items.booking-pointers.check-page-size:1000}") int pageSize,
+                                     MeterRegistry registry) {
+        this.itemRepository = itemRepository;
+        this.pointers = pointers;
+        this.transactionTemplate = transactionTemplate;
+        this.pageSize = pageSize;
+        this.checked = Counter.builder("shareit.items.booking-pointers.checked")
+                .description("Вещи, указатели которых сверены с таблицей бронирований")
+                .register(registry);
+        this.mismatches = Counter.builder("shareit.items.booking-pointers.mismatches")
+                .description("Расхождения указателей с таблицей бронирований")
+                .register(registry);
+    }
+
+    // Walks the whole table one page per run and wraps around
+    @Scheduled(fixedDelayString = "${shareit.items.booking-pointers.check-interval:10m}",
+            initialDelayString = "${shareit.items.booking-pointers.check-interval:10m}")
+    public void checkNextPage() {
+        Result result = check(cursor, pageSize);
+        cursor = result.scanned() < pageSize ? 0 : result.lastItemId();
+    }
+
+    // Items whose stored pointers disagree with the bookings table are invalidated
+    // so the next refresh recomputes them and reads fall back to the bookings table meanwhile
+    public Result check(long afterId, int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<ItemBookingPointersView> page = itemRepository
+                    .findBookingPointersAfter(afterId, PageRequest.of(0, limit));
+            long lastItemId = page.isEmpty() ? afterId : page.get(page.size() - 1).itemId();
+            // Expired or never computed pointers are not served, so there is nothing to validate
+            List<ItemBookingPointersView> stored = page.stream()
+                    .filter(view -> view.isValidAt(now))
+                    .toList();
+            if (stored.isEmpty()) {
+                return new Result(page.size(), lastItemId, List.of());
+            }
+            Map<Long, ItemBookingPointers.Pointers> expected =
+                    pointers.compute(stored.stream().map(ItemBookingPointersView::itemId).toList(), now);
+
+            List<Long> broken = new ArrayList<>();
+            for (ItemBookingPointersView view : stored) {
+                ItemBookingPointers.Pointers actual = expected.get(view.itemId());
+                if (!Objects.equals(view.lastBookingId(), actual.lastBookingId())
+                        || !Objects.equals(view.nextBookingId(), actual.nextBookingId())
+                        || view.validUntil().isAfter(actual.validUntil())) {
+                    log.warn("Указатели бронирований вещи {} расходятся с таблицей: last {} / {}, next {} / {}",
+                            view.itemId(), view.lastBookingId(), actual.lastBookingId(),
+                            view.nextBookingId(), actual.nextBookingId());
+                    broken.add(view.itemId());
+                }
+            }
+            checked.increment(stored.size());
+            if (!broken.isEmpty()) {
+                mismatches.increment(broken.size());
+                itemRepository.invalidateBookingPointers(broken);
+            }
+            return new Result(page.size(), lastItemId, broken);
+        });
+    }
+}
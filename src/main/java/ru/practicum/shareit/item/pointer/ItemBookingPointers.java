@@ -0,0 +1,117 @@
+package ru.practicum.shareit.item.pointer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingBoundaryView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class ItemBookingPointers {
+
+    // No approved booking starts or ends in the future: nothing moves until the next approval
+    public static final LocalDateTime NO_BOUNDARY = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    public record Pointers(Long lastBookingId, Long nextBookingId, LocalDateTime validUntil) {
+    }
+
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter rolled;
+
+    public ItemBookingPointers(ItemRepository itemRepository,
+                               BookingRepository bookingRepository,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${shareit.items.booking-pointers.batch-size:500}") int batchSize,
+                               MeterRegistry registry) {
+        this.itemRepository = itemRepository;
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.rolled = Counter.builder("shareit.items.booking-pointers.rolled")
+                .description("Вещи, у которых планировщик пересчитал last/next бронирования")
+                .register(registry);
+    }
+
+    // Runs in the caller's transaction under the item lock, so it sees the booking it was called for
+    public void refresh(Long itemId) {
+        Pointers pointers = compute(List.of(itemId), LocalDateTime.now()).get(itemId);
+        itemRepository.updateBookingPointers(itemId,
+                pointers.lastBookingId(), pointers.nextBookingId(), pointers.validUntil());
+    }
+
+    public Map<Long, Pointers> compute(Collection<Long> itemIds, LocalDateTime now) {
+        Map<Long, Booking> last = bookingRepository.findLastByItemIds(itemIds, BookingStatus.APPROVED, now).stream()
+                .collect(Collectors.toMap(b -> b.getItem().getId(), Function.identity(),
+                        (a, b) -> a.getId() <= b.getId() ? a : b));
+        Map<Long, Booking> next = bookingRepository.findNextByItemIds(itemIds, BookingStatus.APPROVED, now).stream()
+                .collect(Collectors.toMap(b -> b.getItem().getId(), Function.identity(),
+                        (a, b) -> a.getId() <= b.getId() ? a : b));
+        Map<Long, LocalDateTime> firstEnd = bookingRepository
+                .findFirstEndAfterByItemIds(itemIds, BookingStatus.APPROVED, now).stream()
+                .collect(Collectors.toMap(BookingBoundaryView::itemId, BookingBoundaryView::at));
+
+        Map<Long, Pointers> result = new HashMap<>();
+        for (Long itemId : itemIds) {
+            Booking lastBooking = last.get(itemId);
+            Booking nextBooking = next.get(itemId);
+            // The earliest instant either answer can change: the next booking starts, or an approved one ends
+            LocalDateTime validUntil = firstEnd.getOrDefault(itemId, NO_BOUNDARY);
+            if (nextBooking != null && nextBooking.getStart().isBefore(validUntil)) {
+                validUntil = nextBooking.getStart();
+            }
+            result.put(itemId, new Pointers(
+                    lastBooking != null ? lastBooking.getId() : null,
+                    nextBooking != null ? nextBooking.getId() : null,
+                    validUntil));
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.items.booking-pointers.refresh-interval:30s}")
+    public void rollForward() {
+        int total = 0;
+        int fetched;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            int[] counts = transactionTemplate.execute(status -> {
+                List<Long> ids = itemRepository.findIdsWithExpiredBookingPointers(now, PageRequest.of(0, batchSize));
+                int updated = 0;
+                if (!ids.isEmpty()) {
+                    for (Map.Entry<Long, Pointers> entry : compute(ids, now).entrySet()) {
+                        Pointers pointers = entry.getValue();
+                        updated += itemRepository.updateExpiredBookingPointers(entry.getKey(),
+                                pointers.lastBookingId(), pointers.nextBookingId(), pointers.validUntil(), now);
+                    }
+                }
+                return new int[]{ids.size(), updated};
+            });
+            fetched = counts[0];
+            total += counts[1];
+        } while (fetched == batchSize);
+
+        if (total > 0) {
+            rolled.increment(total);
+            log.debug("Указатели бронирований пересчитаны для {} вещей", total);
+        }
+    }
+}
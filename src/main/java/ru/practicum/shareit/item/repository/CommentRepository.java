@@ -1,11 +1,25 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findAllByItemIdOrderByCreatedDesc(Long itemId);
-}
\ No newline at end of file
+    @Cacheable(cacheNames = "itemComments", key = "#p0", unless = "@replicaReads.active()")
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.itemId = :itemId ORDER BY c.created DESC")
+    List<Comment> findAllByItemIdOrderByCreatedDesc(@Param("itemId") Long itemId);
+
+    @Override
+    @CacheEvict(cacheNames = "itemComments", key = "#p0.itemId", condition = "#p0.itemId != null")
+    <S extends Comment> S save(S comment);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.itemId IN :itemIds ORDER BY c.created DESC")
+    List<Comment> findAllWithAuthorByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+}
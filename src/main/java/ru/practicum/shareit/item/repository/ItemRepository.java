@@ -1,17 +1,99 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemBookingPointersView;
+import ru.practicum.shareit.item.dto.ItemPointedBookingsView;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemAnswerView;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    @Override
+    // An empty Optional is not cached: the id may be assigned to a new item right after the probe.
+    // Replica reads are not cached either: they may lag behind the primary
+    @Cacheable(cacheNames = "items", key = "#p0", unless = "#result == null || @replicaReads.active()")
+    Optional<Item> findById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = "items", key = "#p0.id", condition = "#p0.id != null")
+    <S extends Item> S save(S item);
+
+    @Override
+    @CacheEvict(cacheNames = "items", allEntries = true, condition = "#p0.?[id != null].size() > 0")
+    <S extends Item> List<S> saveAll(Iterable<S> items);
+
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findUncachedById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") Long id);
+
     List<Item> findByOwnerId(Long ownerId);
 
+    List<Item> findByOwnerId(Long ownerId, Pageable pageable);
+
     @Query("SELECT i FROM Item i WHERE i.available = true " +
             "AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
             "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))")
     List<Item> searchAvailableItems(String text);
+
+    @Query("SELECT new ru.practicum.shareit.request.dto.ItemAnswerView(i.id, i.name, i.ownerId, i.requestId) " +
+            "FROM Item i WHERE i.requestId IN :requestIds ORDER BY i.id")
+    List<ItemAnswerView> findAnswersByRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
+
+    String POINTERS_VIEW = "SELECT new ru.practicum.shareit.item.dto.ItemBookingPointersView(" +
+            "i.id, i.lastBookingId, i.nextBookingId, i.bookingsValidUntil) FROM Item i ";
+
+    @Query(POINTERS_VIEW + "WHERE i.id = :id")
+    Optional<ItemBookingPointersView> findBookingPointers(@Param("id") Long id);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemPointedBookingsView(i.id, i.name, i.bookingsValidUntil, " +
+            "lb.id, lb.start, lb.end, lb.status, lb.booker.id, nb.id, nb.start, nb.end, nb.status, nb.booker.id) " +
+            "FROM Item i LEFT JOIN Booking lb ON lb.id = i.lastBookingId " +
+            "LEFT JOIN Booking nb ON nb.id = i.nextBookingId WHERE i.id = :id")
+    Optional<ItemPointedBookingsView> findPointedBookings(@Param("id") Long id);
+
+    @Query(POINTERS_VIEW + "WHERE i.id > :afterId ORDER BY i.id")
+    List<ItemBookingPointersView> findBookingPointersAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT i.id FROM Item i " +
+            "WHERE i.bookingsValidUntil IS NULL OR i.bookingsValidUntil <= :now ORDER BY i.id")
+    List<Long> findIdsWithExpiredBookingPointers(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Item i SET i.lastBookingId = :lastId, i.nextBookingId = :nextId, " +
+            "i.bookingsValidUntil = :validUntil WHERE i.id = :id")
+    int updateBookingPointers(@Param("id") Long id,
+                              @Param("lastId") Long lastId,
+                              @Param("nextId") Long nextId,
+                              @Param("validUntil") LocalDateTime validUntil);
+
+    // Skips rows an approval has refreshed since they were read
+    @Modifying
+    @Query("UPDATE Item i SET i.lastBookingId = :lastId, i.nextBookingId = :nextId, " +
+            "i.bookingsValidUntil = :validUntil WHERE i.id = :id " +
+            "AND (i.bookingsValidUntil IS NULL OR i.bookingsValidUntil <= :now)")
+    int updateExpiredBookingPointers(@Param("id") Long id,
+                                     @Param("lastId") Long lastId,
+                                     @Param("nextId") Long nextId,
+                                     @Param("validUntil") LocalDateTime validUntil,
+                                     @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Item i SET i.bookingsValidUntil = NULL WHERE i.id IN :ids")
+    int invalidateBookingPointers(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,172 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+
+    private static final int GRAM_SIZE = 3;
+
+    private final ItemRepository itemRepository;
+
+    // Readers take one reference and use it for the whole search; rebuild fills a fresh segment and swaps it in
+    private volatile Segment segment = new Segment();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Segment rebuilt = new Segment();
+        writeLock.lock();
+        try {
+            itemRepository.findAll().forEach(rebuilt::index);
+            segment = rebuilt;
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Поисковый индекс вещей построен: {} документов, {} n-грамм",
+                rebuilt.documents.size(), rebuilt.postings.size());
+    }
+
+    public void index(Item item) {
+        if (item == null || item.getId() == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            segment.index(item);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public List<Item> search(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        String query = normalize(text);
+        Segment current = segment;
+
+        Collection<Long> candidates = query.length() < GRAM_SIZE ? current.documents.keySet() : current.candidates(query);
+
+        List<Item> result = new ArrayList<>();
+        for (Long id : candidates) {
+            IndexedItem document = current.documents.get(id);
+            if (document != null && document.matches(query)) {
+                result.add(copyOf(document.item()));
+            }
+        }
+        result.sort(Comparator.comparing(Item::getId));
+        log.debug("Поиск '{}' по индексу: {} кандидатов, {} совпадений", text, candidates.size(), result.size());
+        return result;
+    }
+
+    // Same matching as search(), without copying or sorting: for callers that only score the hits
+    public void forEachMatch(String text, MatchVisitor visitor) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        String query = normalize(text);
+        Segment current = segment;
+
+        Collection<Long> candidates = query.length() < GRAM_SIZE ? current.documents.keySet() : current.candidates(query);
+        for (Long id : candidates) {
+            IndexedItem document = current.documents.get(id);
+            if (document != null && document.matches(query)) {
+                visitor.visit(id, document.item().getOwnerId(), document.name().contains(query));
+            }
+        }
+    }
+
+    private static Set<String> grams(IndexedItem document) {
+        Set<String> result = grams(document.name());
+        result.addAll(grams(document.description()));
+        return result;
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= value.length(); i++) {
+            result.add(value.substring(i, i + GRAM_SIZE));
+        }
+        return result;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Item copyOf(Item item) {
+        return Item.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .ownerId(item.getOwnerId())
+                .requestId(item.getRequestId())
+                .build();
+    }
+
+    private static final class Segment {
+        private final Map<Long, IndexedItem> documents = new ConcurrentHashMap<>();
+        private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+        // Called under writeLock
+        void index(Item item) {
+            IndexedItem previous = documents.get(item.getId());
+            if (previous != null) {
+                grams(previous).forEach(gram -> {
+                    Set<Long> ids = postings.get(gram);
+                    if (ids != null) {
+                        ids.remove(item.getId());
+                    }
+                });
+            }
+            IndexedItem document = new IndexedItem(copyOf(item), normalize(item.getName()), normalize(item.getDescription()));
+            grams(document).forEach(gram -> postings.computeIfAbsent(gram, k -> ConcurrentHashMap.newKeySet()).add(item.getId()));
+            documents.put(item.getId(), document);
+        }
+
+        Collection<Long> candidates(String query) {
+            List<Set<Long>> sets = new ArrayList<>();
+            for (String gram : grams(query)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null || ids.isEmpty()) {
+                    return Collections.emptyList();
+                }
+                sets.add(ids);
+            }
+            sets.sort(Comparator.comparingInt(Set::size));
+
+            Set<Long> result = new HashSet<>(sets.get(0));
+            for (int i = 1; i < sets.size() && !result.isEmpty(); i++) {
+                result.retainAll(sets.get(i));
+            }
+            return result;
+        }
+    }
+
+    @FunctionalInterface
+    public interface MatchVisitor {
+        void visit(long itemId, long ownerId, boolean inName);
+    }
+
+    private record IndexedItem(Item item, String name, String description) {
+
+        boolean matches(String query) {
+            return Boolean.TRUE.equals(item.getAvailable())
+                    && (name.contains(query) || description.contains(query));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.event.DomainEvent;
+import ru.practicum.shareit.event.DomainEventListener;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndexListener implements DomainEventListener {
+
+    private final ItemRepository itemRepository;
+    private final ItemSearchIndex searchIndex;
+
+    // Re-reads the committed row instead of trusting the payload, so replays and reordering are harmless;
+    // bypasses the item cache, which may still hold the row from before the update
+    @Override
+    public void on(DomainEvent event) {
+        if (event instanceof DomainEvent.ItemUpdated updated) {
+            itemRepository.findUncachedById(updated.itemId()).ifPresent(searchIndex::index);
+        }
+    }
+}
@@ -1,21 +1,28 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.common.BatchResultDto;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface ItemService {
 
     ItemDto create(Long userId, ItemDto itemDto, Long requestId);
 
+    BatchResultDto<ItemDto> createBatch(Long userId, List<ItemDto> itemDtos);
+
     ItemDto update(Long userId, Long itemId, ItemDto itemDto);
 
     ItemDto findById(Long userId, Long itemId);
 
-    List<ItemDto> findAllByOwner(Long userId);
+    List<ItemDto> findAllByOwner(Long userId, int from, int size);
 
     List<ItemDto> search(String text);
 
+    List<AvailabilitySlotDto> getAvailability(Long itemId, LocalDate from, LocalDate to);
+
     CommentDto addComment(CommentDto dto, Long userId, Long itemId);
 }
\ No newline at end of file
@@ -1,31 +1,57 @@
 package ru.practicum.shareit.item.service;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.storage.BookingAvailabilityIndex;
+import ru.practicum.shareit.common.BatchEntryDto;
+import ru.practicum.shareit.common.BatchResultDto;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.event.DomainEvent;
+import ru.practicum.shareit.event.DomainEventPublisher;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBookingPointersView;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemPointedBookingsView;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.item.storage.InMemoryItemHistoryStorage;
-import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.request.storage.InMemoryItemRequestStorage;
+import ru.practicum.shareit.metrics.ServiceMetrics;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -33,14 +59,22 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
 
+    private static final Sort ITEM_SORT = Sort.by(Sort.Direction.ASC, "id");
+    private static final int MAX_CALENDAR_DAYS = 366;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
-    private final InMemoryItemRequestStorage requestStorage;
+    private final ItemRequestRepository requestRepository;
     private final InMemoryItemHistoryStorage historyStorage;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final CommentMapper commentMapper;
     private final BookingMapper bookingMapper;
+    private final ItemSearchIndex searchIndex;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final Validator validator;
+    private final ServiceMetrics serviceMetrics;
+    private final DomainEventPublisher eventPublisher;
 
     @Override
     public ItemDto create(Long userId, ItemDto itemDto, Long requestId) {
@@ -49,23 +83,102 @@ public class ItemServiceImpl implements ItemService {
         User owner = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь не найден"));
 
-        ItemRequest request = null;
-        if (requestId != null) {
-            request = requestStorage.findById(requestId)
-                    .orElseThrow(() -> new NotFoundException("Запрос не найден"));
+        Long answeredRequestId = requestId != null ? requestId : itemDto.getRequestId();
+        if (answeredRequestId != null && !requestRepository.existsById(answeredRequestId)) {
+            throw new NotFoundException("Запрос не найден");
         }
 
         Boolean available = Boolean.TRUE.equals(itemDto.getAvailable());
-        Item item = ItemMapper.toItem(itemDto, owner.getId(), request != null ? request.getId() : null);
+        Item item = ItemMapper.toItem(itemDto, owner.getId(), answeredRequestId);
         item.setAvailable(available);
 
         Item savedItem = itemRepository.save(item);
-        log.info("Вещь создана пользователем {}: {}", userId, savedItem);
+        searchIndex.index(savedItem);
+        log.info("Вещь {} создана пользователем {}", savedItem.getId(), userId);
 
         return ItemMapper.toItemDto(savedItem);
     }
 
     @Override
+    public BatchResultDto<ItemDto> createBatch(Long userId, List<ItemDto> itemDtos) {
+        BatchResultDto.checkSize(itemDtos);
+        userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+
+        List<BatchEntryDto<ItemDto>> results = new ArrayList<>(Collections.nCopies(itemDtos.size(), null));
+        List<Item> valid = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>();
+        // One IN query for every referenced request instead of an existsById per element
+        Set<Long> requestIds = itemDtos.stream()
+                .filter(dto -> dto != null && dto.getRequestId() != null)
+                .map(ItemDto::getRequestId)
+                .collect(Collectors.toSet());
+        Set<Long> existingRequestIds = requestIds.isEmpty()
+                ? Set.of()
+                : requestRepository.findExistingIds(requestIds);
+
+        for (int i = 0; i < itemDtos.size(); i++) {
+            ItemDto dto = itemDtos.get(i);
+            String error = validateForBatch(dto, existingRequestIds);
+            if (error != null) {
+                results.set(i, BatchEntryDto.failure(i, error));
+                continue;
+            }
+            valid.add(ItemMapper.toItem(dto, userId, dto.getRequestId()));
+            validIndexes.add(i);
+        }
+
+        if (!valid.isEmpty()) {
+            try {
+                List<Item> saved = itemRepository.saveAll(valid);
+                for (int i = 0; i < saved.size(); i++) {
+                    searchIndex.index(saved.get(i));
+                    results.set(validIndexes.get(i), BatchEntryDto.success(validIndexes.get(i), ItemMapper.toItemDto(saved.get(i))));
+                }
+            } catch (DataAccessException e) {
+                // One bad row rolls back the whole batch; retry one by one so the rest still gets saved
+                log.warn("Не удалось сохранить пакет вещей пользователя {}, сохраняем по одной: {}", userId,
+                        e.getMessage());
+                validIndexes.forEach(i -> results.set(i, createBatchEntry(userId, i, itemDtos.get(i))));
+            }
+        }
+
+        BatchResultDto<ItemDto> result = BatchResultDto.of(results);
+        log.info("Пакетное создание вещей пользователем {}: успешно {}, с ошибками {}", userId,
+                result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    // Rebuilt from the DTO: entities from the failed saveAll already carry ids that were never committed
+    private BatchEntryDto<ItemDto> createBatchEntry(Long userId, int index, ItemDto dto) {
+        try {
+            Item saved = itemRepository.save(ItemMapper.toItem(dto, userId, dto.getRequestId()));
+            searchIndex.index(saved);
+            return BatchEntryDto.success(index, ItemMapper.toItemDto(saved));
+        } catch (DataAccessException e) {
+            log.warn("Не удалось сохранить вещь {} из пакета пользователя {}: {}", index, userId, e.getMessage());
+            return BatchEntryDto.failure(index, "Не удалось сохранить вещь");
+        }
+    }
+
+    private String validateForBatch(ItemDto dto, Set<Long> existingRequestIds) {
+        if (dto == null) {
+            return "Вещь не может быть null";
+        }
+        Set<ConstraintViolation<ItemDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (dto.getRequestId() != null && !existingRequestIds.contains(dto.getRequestId())) {
+            return "Запрос не найден";
+        }
+        return null;
+    }
+
+    @Override
+    @Transactional
     public ItemDto update(Long userId, Long itemId, ItemDto itemDto) {
         Item existingItem = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Вещь не найдена"));
@@ -82,15 +195,19 @@ public class ItemServiceImpl implements ItemService {
                 .available(available)
                 .ownerId(existingItem.getOwnerId())
                 .requestId(existingItem.getRequestId())
+                .version(existingItem.getVersion())
                 .build();
 
         Item savedItem = itemRepository.save(updatedItem);
+        // The search index is refreshed by ItemSearchIndexListener once the update has committed
+        eventPublisher.publish(new DomainEvent.ItemUpdated(itemId, userId));
         log.info("Вещь {} обновлена пользователем {}", itemId, userId);
 
         return ItemMapper.toItemDto(savedItem);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemDto findById(Long userId, Long itemId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Предмет с ID " + itemId + " не найден"));
@@ -116,37 +233,128 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<ItemDto> findAllByOwner(Long userId) {
+    @Transactional(readOnly = true)
+    public List<ItemDto> findAllByOwner(Long userId, int from, int size) {
         userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
 
-        List<ItemDto> items = itemRepository.findByOwnerId(userId).stream()
+        List<Item> owned = itemRepository.findByOwnerId(userId, Pagination.of(from, size, ITEM_SORT));
+        List<ItemDto> items = owned.stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
 
+        if (items.isEmpty()) {
+            return items;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingDto> lastBookings = new HashMap<>();
+        Map<Long, BookingDto> nextBookings = new HashMap<>();
+        List<ItemBookingPointersView> current = new ArrayList<>();
+        List<Long> stale = new ArrayList<>();
+        for (Item item : owned) {
+            ItemBookingPointersView pointers = new ItemBookingPointersView(item.getId(),
+                    item.getLastBookingId(), item.getNextBookingId(), item.getBookingsValidUntil());
+            if (pointers.isValidAt(now)) {
+                current.add(pointers);
+            } else {
+                stale.add(item.getId());
+            }
+        }
+        if (!current.isEmpty()) {
+            Map<Long, BookingDto> byId = loadPointedBookings(current);
+            current.forEach(pointers -> {
+                putIfPresent(lastBookings, pointers.itemId(), byId.get(pointers.lastBookingId()));
+                putIfPresent(nextBookings, pointers.itemId(), byId.get(pointers.nextBookingId()));
+            });
+        }
+        if (!stale.isEmpty()) {
+            bookingRepository.findLastByItemIds(stale, BookingStatus.APPROVED, now).stream()
+                    .collect(Collectors.toMap(b -> b.getItem().getId(), Function.identity(),
+                            (a, b) -> a.getId() <= b.getId() ? a : b))
+                    .forEach((itemId, booking) -> lastBookings.put(itemId, bookingMapper.toBookingDto(booking)));
+            bookingRepository.findNextByItemIds(stale, BookingStatus.APPROVED, now).stream()
+                    .collect(Collectors.toMap(b -> b.getItem().getId(), Function.identity(),
+                            (a, b) -> a.getId() <= b.getId() ? a : b))
+                    .forEach((itemId, booking) -> nextBookings.put(itemId, bookingMapper.toBookingDto(booking)));
+        }
+
+        List<Long> itemIds = items.stream().map(ItemDto::getId).collect(Collectors.toList());
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllWithAuthorByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(Comment::getItemId,
+                        Collectors.mapping(commentMapper::toCommentDto, Collectors.toList())));
+
         items.forEach(dto -> {
-            enrichWithBookings(dto, dto.getId());
-            List<CommentDto> comments = commentRepository.findAllByItemIdOrderByCreatedDesc(dto.getId())
-                    .stream()
-                    .map(commentMapper::toCommentDto)
-                    .collect(Collectors.toList());
-            dto.setComments(comments);
+            dto.setLastBooking(lastBookings.get(dto.getId()));
+            dto.setNextBooking(nextBookings.get(dto.getId()));
+            dto.setComments(comments.getOrDefault(dto.getId(), new ArrayList<>()));
         });
 
+        log.info("Найдено {} вещей владельца {}", items.size(), userId);
         return items;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> search(String text) {
         if (text == null || text.isBlank()) return Collections.emptyList();
 
-        return itemRepository.searchAvailableItems(text).stream()
+        long startNanos = System.nanoTime();
+        List<ItemDto> result = searchIndex.search(text).stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
+        serviceMetrics.recordSearch(startNanos, result.size());
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AvailabilitySlotDto> getAvailability(Long itemId, LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("Дата начала периода должна быть не позже даты окончания");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_CALENDAR_DAYS) {
+            throw new IllegalArgumentException("Период не может превышать " + MAX_CALENDAR_DAYS + " дней");
+        }
+        if (from.isBefore(BookingAvailabilityIndex.CALENDAR_START)) {
+            throw new IllegalArgumentException("Календарь занятости доступен начиная с "
+                    + BookingAvailabilityIndex.CALENDAR_START);
+        }
+        itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException("Вещь не найдена"));
+
+        BitSet busy = availabilityIndex.busyDays(itemId, from, to);
+        int length = (int) ChronoUnit.DAYS.between(from, to) + 1;
+
+        List<AvailabilitySlotDto> slots = new ArrayList<>();
+        int day = 0;
+        while (day < length) {
+            boolean free = !busy.get(day);
+            int next = free ? busy.nextSetBit(day) : busy.nextClearBit(day);
+            if (next < 0 || next > length) {
+                next = length;
+            }
+            slots.add(AvailabilitySlotDto.builder()
+                    .from(from.plusDays(day))
+                    .to(from.plusDays(next - 1))
+                    .free(free)
+                    .build());
+            day = next;
+        }
+        return slots;
     }
 
     private void enrichWithBookings(ItemDto itemDto, Long itemId) {
         LocalDateTime now = LocalDateTime.now();
 
+        // The cached item may carry old pointers, so they are read from the row itself,
+        // joined with the bookings they point to
+        ItemPointedBookingsView pointed = itemRepository.findPointedBookings(itemId).orElse(null);
+        if (pointed != null && pointed.pointers().isValidAt(now)) {
+            itemDto.setLastBooking(toBookingDtoOrNull(pointed.lastBooking()));
+            itemDto.setNextBooking(toBookingDtoOrNull(pointed.nextBooking()));
+            return;
+        }
+
+        // Not computed yet, or a booking boundary has passed and the scheduler has not rolled it forward
         bookingRepository.findFirstByItemIdAndStatusAndEndBeforeOrderByEndDesc(itemId, BookingStatus.APPROVED, now)
                 .ifPresentOrElse(
                         lastBooking -> itemDto.setLastBooking(bookingMapper.toBookingDto(lastBooking)),
@@ -160,7 +368,35 @@ public class ItemServiceImpl implements ItemService {
                 );
     }
 
+    private Map<Long, BookingDto> loadPointedBookings(List<ItemBookingPointersView> pointers) {
+        Set<Long> ids = new HashSet<>();
+        pointers.forEach(p -> {
+            if (p.lastBookingId() != null) {
+                ids.add(p.lastBookingId());
+            }
+            if (p.nextBookingId() != null) {
+                ids.add(p.nextBookingId());
+            }
+        });
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return bookingRepository.findViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(BookingView::id, bookingMapper::toBookingDto));
+    }
+
+    private BookingDto toBookingDtoOrNull(BookingView view) {
+        return view != null ? bookingMapper.toBookingDto(view) : null;
+    }
+
+    private static void putIfPresent(Map<Long, BookingDto> target, Long itemId, BookingDto booking) {
+        if (booking != null) {
+            target.put(itemId, booking);
+        }
+    }
+
     @Override
+    @Transactional
     public CommentDto addComment(CommentDto dto, Long userId, Long itemId) {
         itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException("Вещь не найдена"));
 
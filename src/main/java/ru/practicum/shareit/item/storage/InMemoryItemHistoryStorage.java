@@ -1,15 +1,48 @@
 package ru.practicum.shareit.item.storage;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @Component
-public class InMemoryItemHistoryStorage {
+public class InMemoryItemHistoryStorage implements MeterBinder {
 
-    private final Map<Long, LinkedHashSet<Long>> history = new HashMap<>();
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+
+    private final int maxItemsPerUser;
+    // Size-bounded without a global lock: readers of different users never contend,
+    // each ring is guarded by its own lock
+    private final Cache<Long, ViewRing> history;
+    private final LongAdder evictedUsers = new LongAdder();
+    private final LongAdder evictedViews = new LongAdder();
+
+    public InMemoryItemHistoryStorage(@Value("${shareit.history.max-users:10000}") int maxUsers,
+                                      @Value("${shareit.history.max-items-per-user:50}") int maxItemsPerUser) {
+        if (maxUsers <= 0 || maxItemsPerUser <= 0) {
+            throw new IllegalArgumentException("Лимиты истории просмотров должны быть положительными");
+        }
+        this.maxItemsPerUser = maxItemsPerUser;
+        this.history = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .executor(Runnable::run)
+                .<Long, ViewRing>removalListener((userId, views, cause) -> {
+                    if (cause.wasEvicted()) {
+                        evictedUsers.increment();
+                    }
+                })
+                .build();
+    }
 
     public void addView(Long userId, Long itemId) {
         if (userId == null || itemId == null) {
@@ -17,15 +50,11 @@ public class InMemoryItemHistoryStorage {
             return;
         }
 
-        history.computeIfAbsent(userId, k -> new LinkedHashSet<>());
-        LinkedHashSet<Long> items = history.get(userId);
-
-        if (items.remove(itemId)) {
-            log.debug("Предмет {} уже был в истории пользователя {}, перемещён в конец", itemId, userId);
+        ViewRing views = history.get(userId, id -> new ViewRing(maxItemsPerUser));
+        if (views.add(itemId)) {
+            evictedViews.increment();
         }
-
-        items.add(itemId);
-        log.info("Пользователь {} просмотрел предмет {}", userId, itemId);
+        log.debug("Пользователь {} просмотрел предмет {}", userId, itemId);
     }
 
     public List<Long> getHistory(Long userId) {
@@ -34,13 +63,104 @@ public class InMemoryItemHistoryStorage {
             return Collections.emptyList();
         }
 
-        LinkedHashSet<Long> items = history.get(userId);
-        if (items == null || items.isEmpty()) {
+        ViewRing views = history.getIfPresent(userId);
+        List<Long> items = views != null ? views.toList() : Collections.emptyList();
+
+        if (items.isEmpty()) {
             log.info("У пользователя {} нет истории просмотров", userId);
             return Collections.emptyList();
         }
 
-        log.info("История просмотров пользователя {}: {}", userId, items);
-        return new ArrayList<>(items);
+        log.info("История просмотров пользователя {}: {} предметов", userId, items.size());
+        return items;
+    }
+
+    public int trackedUsers() {
+        history.cleanUp();
+        return (int) history.estimatedSize();
+    }
+
+    public long estimatedHeapBytes() {
+        return trackedUsers() * (ENTRY_OVERHEAD_BYTES + (long) maxItemsPerUser * Long.BYTES);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.history.users", this, InMemoryItemHistoryStorage::trackedUsers)
+                .description("Пользователи с сохранённой историей просмотров")
+                .register(registry);
+        Gauge.builder("shareit.history.heap", this, InMemoryItemHistoryStorage::estimatedHeapBytes)
+                .description("Оценка занимаемой историей памяти")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("shareit.history.evictions", evictedUsers, LongAdder::sum)
+                .description("Пользователи, вытесненные из истории по LRU")
+                .tag("kind", "user")
+                .register(registry);
+        FunctionCounter.builder("shareit.history.evictions", evictedViews, LongAdder::sum)
+                .description("Просмотры, вытесненные из истории пользователя")
+                .tag("kind", "view")
+                .register(registry);
+    }
+
+    private static final class ViewRing {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] items;
+        private int head;
+        private int size;
+
+        ViewRing(int capacity) {
+            this.items = new long[capacity];
+        }
+
+        boolean add(long itemId) {
+            lock.lock();
+            try {
+                int index = indexOf(itemId);
+                if (index >= 0) {
+                    removeAt(index);
+                }
+                boolean evicted = false;
+                if (size == items.length) {
+                    head = (head + 1) % items.length;
+                    size--;
+                    evicted = true;
+                }
+                items[(head + size) % items.length] = itemId;
+                size++;
+                return evicted;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        List<Long> toList() {
+            lock.lock();
+            try {
+                List<Long> result = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    result.add(items[(head + i) % items.length]);
+                }
+                return result;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int indexOf(long itemId) {
+            for (int i = 0; i < size; i++) {
+                if (items[(head + i) % items.length] == itemId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void removeAt(int index) {
+            for (int i = index; i < size - 1; i++) {
+                items[(head + i) % items.length] = items[(head + i + 1) % items.length];
+            }
+            size--;
+        }
     }
 }
@@ -5,14 +5,17 @@ import org.springframework.stereotype.Component;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class InMemoryItemStorage {
 
-    private final Map<Long, Item> items = new HashMap<>();
-    private long idCounter = 1;
+    private final Map<Long, Item> items = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> itemsByOwner = new ConcurrentHashMap<>();
+    private final AtomicLong idCounter = new AtomicLong(1);
 
     private String normalize(String s) {
         return s == null ? "" : s.toLowerCase();
@@ -24,27 +27,41 @@ public class InMemoryItemStorage {
         return name.contains(query) || description.contains(query);
     }
 
+    private void indexOwner(Item item) {
+        if (item.getOwnerId() != null) {
+            itemsByOwner.computeIfAbsent(item.getOwnerId(), k -> ConcurrentHashMap.newKeySet()).add(item.getId());
+        }
+    }
+
     public Item create(Item item) {
-        item.setId(idCounter++);
+        item.setId(idCounter.getAndIncrement());
         items.put(item.getId(), item);
-        log.info("Вещь создана: {}", item);
+        indexOwner(item);
+        log.info("Вещь создана с ID {}", item.getId());
         return item;
     }
 
     public Optional<Item> update(Item item) {
-        if (!items.containsKey(item.getId())) {
+        Item previous = items.replace(item.getId(), item);
+        if (previous == null) {
             log.warn("Попытка обновить несуществующую вещь с ID {}", item.getId());
             return Optional.empty();
         }
-        items.put(item.getId(), item);
-        log.info("Вещь обновлена: {}", item);
+        if (!Objects.equals(previous.getOwnerId(), item.getOwnerId())) {
+            Set<Long> ownerItems = itemsByOwner.get(previous.getOwnerId());
+            if (ownerItems != null) {
+                ownerItems.remove(item.getId());
+            }
+            indexOwner(item);
+        }
+        log.info("Вещь с ID {} обновлена", item.getId());
         return Optional.of(item);
     }
 
     public Optional<Item> findById(Long itemId) {
         return Optional.ofNullable(items.get(itemId))
                 .map(item -> {
-                    log.info("Вещь найдена по ID {}: {}", itemId, item);
+                    log.debug("Вещь найдена по ID {}", itemId);
                     return item;
                 })
                 .or(() -> {
@@ -59,9 +76,9 @@ public class InMemoryItemStorage {
             return Collections.emptyList();
         }
 
-        List<Item> ownedItems = items.values().stream()
+        List<Item> ownedItems = itemsByOwner.getOrDefault(ownerId, Collections.emptySet()).stream()
+                .map(items::get)
                 .filter(Objects::nonNull)
-                .filter(item -> ownerId.equals(item.getOwnerId()))
                 .collect(Collectors.toList());
 
         log.info("Найдено {} вещей для владельца с ID {}", ownedItems.size(), ownerId);
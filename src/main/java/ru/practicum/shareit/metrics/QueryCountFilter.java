@@ -0,0 +1,36 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final DistributionSummary queriesPerRequest;
+
+    public QueryCountFilter(MeterRegistry registry) {
+        this.queriesPerRequest = DistributionSummary.builder("shareit.jpa.queries.per.request")
+                .description("SQL-запросы, выполненные за один HTTP-запрос")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCountInspector.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            queriesPerRequest.record(QueryCountInspector.current());
+        }
+    }
+}
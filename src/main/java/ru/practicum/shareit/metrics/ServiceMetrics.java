@@ -0,0 +1,57 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.State;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class ServiceMetrics {
+
+    private final Map<State, Timer> bookerLookups = new EnumMap<>(State.class);
+    private final Map<State, Timer> ownerLookups = new EnumMap<>(State.class);
+    private final Timer searchLatency;
+    private final DistributionSummary searchResults;
+
+    public ServiceMetrics(MeterRegistry registry) {
+        for (State state : State.values()) {
+            bookerLookups.put(state, lookupTimer(registry, "booker", state));
+            ownerLookups.put(state, lookupTimer(registry, "owner", state));
+        }
+        this.searchLatency = Timer.builder("shareit.items.search")
+                .description("Время поиска вещей")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.searchResults = DistributionSummary.builder("shareit.items.search.results")
+                .description("Количество найденных вещей")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void recordBookerLookup(State state, long startNanos) {
+        bookerLookups.get(state).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordOwnerLookup(State state, long startNanos) {
+        ownerLookups.get(state).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSearch(long startNanos, int results) {
+        searchLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        searchResults.record(results);
+    }
+
+    private static Timer lookupTimer(MeterRegistry registry, String side, State state) {
+        return Timer.builder("shareit.bookings.lookup")
+                .description("Время получения списка бронирований")
+                .tag("side", side)
+                .tag("state", state.name())
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
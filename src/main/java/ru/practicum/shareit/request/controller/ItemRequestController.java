@@ -1,9 +1,68 @@
 package ru.practicum.shareit.request.controller;
 
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
 @RestController
 @RequestMapping(path = "/requests")
+@RequiredArgsConstructor
 public class ItemRequestController {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final ItemRequestService requestService;
+
+    @PostMapping
+    public ItemRequestDto create(@RequestHeader(USER_ID_HEADER) Long userId,
+                                 @Valid @RequestBody ItemRequestDto dto) {
+        log.info("Запрос POST /requests - создание запроса вещи пользователем {}", userId);
+        return requestService.create(userId, dto);
+    }
+
+    // Next page: pass created and id of the last request received as beforeCreated and beforeId
+    @GetMapping
+    public List<ItemRequestDto> findOwn(@RequestHeader(USER_ID_HEADER) Long userId,
+                                        @RequestParam(required = false)
+                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreated,
+                                        @RequestParam(required = false) Long beforeId,
+                                        @RequestParam(defaultValue = "10") int size) {
+        log.info("Запрос GET /requests - собственные запросы пользователя {}", userId);
+        return requestService.findOwn(userId, beforeCreated, beforeId, size);
+    }
+
+    @GetMapping("/all")
+    public List<ItemRequestDto> findOthers(@RequestHeader(USER_ID_HEADER) Long userId,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreated,
+                                           @RequestParam(required = false) Long beforeId,
+                                           @RequestParam(defaultValue = "10") int size) {
+        log.info("Запрос GET /requests/all - запросы других пользователей для пользователя {}", userId);
+        return requestService.findOthers(userId, beforeCreated, beforeId, size);
+    }
+
+    @GetMapping("/relevant")
+    public List<ItemRequestDto> findRelevant(@RequestHeader(USER_ID_HEADER) Long userId,
+                                             @RequestParam(required = false)
+                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreated,
+                                             @RequestParam(required = false) Long beforeId,
+                                             @RequestParam(defaultValue = "10") int size) {
+        log.info("Запрос GET /requests/relevant - запросы, подходящие вещам пользователя {}", userId);
+        return requestService.findRelevant(userId, beforeCreated, beforeId, size);
+    }
+
+    @GetMapping("/{requestId}")
+    public ItemRequestDto findById(@RequestHeader(USER_ID_HEADER) Long userId,
+                                   @PathVariable Long requestId) {
+        log.info("Запрос GET /requests/{} - получение запроса пользователем {}", requestId, userId);
+        return requestService.findById(userId, requestId);
+    }
 }
@@ -0,0 +1,4 @@
+package ru.practicum.shareit.request.dto;
+
+public record ItemAnswerView(Long id, String name, Long ownerId, Long requestId) {
+}
@@ -1,11 +1,15 @@
 package ru.practicum.shareit.request.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -14,9 +18,14 @@ import java.time.LocalDateTime;
 public class ItemRequestDto {
     private Long id;
 
+    @NotBlank(message = "Описание запроса не может быть пустым")
+    @Size(max = 512, message = "Описание запроса не может быть длиннее 512 символов")
     private String description;
 
     private Long requestorId;
 
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime created;
+
+    private List<ItemAnswerDto> items;
 }
@@ -2,14 +2,19 @@ package ru.practicum.shareit.request.mapper;
 
 import lombok.extern.slf4j.Slf4j;
 import ru.practicum.shareit.exception.MappingException;
+import ru.practicum.shareit.request.dto.ItemAnswerDto;
+import ru.practicum.shareit.request.dto.ItemAnswerView;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Slf4j
 public class ItemRequestMapper {
 
-    public static ItemRequestDto toItemRequestDto(ItemRequest request) {
+    public static ItemRequestDto toItemRequestDto(ItemRequest request, List<ItemAnswerDto> items) {
         if (request == null) {
             throw new MappingException("ItemRequest для преобразования в DTO не может быть null");
         }
@@ -18,6 +23,15 @@ public class ItemRequestMapper {
                 .description(request.getDescription())
                 .requestorId(request.getRequestor() != null ? request.getRequestor().getId() : null)
                 .created(request.getCreated())
+                .items(items)
+                .build();
+    }
+
+    public static ItemAnswerDto toItemAnswerDto(ItemAnswerView view) {
+        return ItemAnswerDto.builder()
+                .id(view.id())
+                .name(view.name())
+                .ownerId(view.ownerId())
                 .build();
     }
 
@@ -29,7 +43,7 @@ public class ItemRequestMapper {
                 .id(dto.getId())
                 .description(dto.getDescription())
                 .requestor(requestor)
-                .created(dto.getCreated() != null ? dto.getCreated() : java.time.LocalDateTime.now())
+                .created(dto.getCreated() != null ? dto.getCreated() : LocalDateTime.now())
                 .build();
     }
 }
@@ -0,0 +1,167 @@
+package ru.practicum.shareit.request.matching;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.model.RequestMatch;
+import ru.practicum.shareit.request.repository.RequestMatchRepository;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class ItemRequestMatcher {
+
+    private static final int MIN_TOKEN_LENGTH = 3;
+    private static final int NAME_SCORE = 2;
+    private static final int DESCRIPTION_SCORE = 1;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "для", "или", "как", "что", "кто", "где", "нужна", "нужен", "нужно", "нужны", "ищу", "очень", "можно",
+            "the", "and", "for", "with", "need", "want", "any");
+
+    public record Candidate(long itemId, long ownerId, int score) {
+    }
+
+    private final ItemSearchIndex searchIndex;
+    private final RequestMatchRepository matchRepository;
+    private final int topK;
+    private final ThreadPoolExecutor executor;
+    private final Timer matchTimer;
+    private final Counter rejected;
+
+    public ItemRequestMatcher(ItemSearchIndex searchIndex,
+                              RequestMatchRepository matchRepository,
+                              @Value("${shareit.requests.matching.top-k:10}") int topK,
+                              @Value("${shareit.requests.matching.threads:2}") int threads,
+                              @Value("${shareit.requests.matching.queue-capacity:1000}") int queueCapacity,
+                              MeterRegistry registry) {
+        this.searchIndex = searchIndex;
+        this.matchRepository = matchRepository;
+        this.topK = topK;
+        // Bounded on both sides: a burst of requests can neither spawn threads nor grow the heap;
+        // what does not fit is dropped and counted, the POST itself never waits
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "request-matcher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "shareit.requests.matching", Tags.empty()).bindTo(registry);
+        this.matchTimer = Timer.builder("shareit.requests.matching.duration")
+                .description("Время подбора вещей для запроса")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.rejected = Counter.builder("shareit.requests.matching.rejected")
+                .description("Запросы, не поставленные в очередь подбора")
+                .register(registry);
+    }
+
+    public void submit(Long requestId, Long requestorId, String description) {
+        Runnable task = () -> match(requestId, requestorId, description);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(requestId, task);
+                }
+            });
+        } else {
+            enqueue(requestId, task);
+        }
+    }
+
+    public List<Candidate> topMatches(String description, Long requestorId) {
+        Map<Long, int[]> scores = new HashMap<>();
+        Map<Long, Long> owners = new HashMap<>();
+        for (String token : tokenize(description)) {
+            searchIndex.forEachMatch(token, (itemId, ownerId, inName) -> {
+                if (requestorId != null && requestorId == ownerId) {
+                    return;
+                }
+                scores.computeIfAbsent(itemId, k -> new int[1])[0] += inName ? NAME_SCORE : DESCRIPTION_SCORE;
+                owners.putIfAbsent(itemId, ownerId);
+            });
+        }
+
+        Comparator<Candidate> worstFirst = Comparator.comparingInt(Candidate::score)
+                .thenComparing(Comparator.comparingLong(Candidate::itemId).reversed());
+        PriorityQueue<Candidate> top = new PriorityQueue<>(topK + 1, worstFirst);
+        scores.forEach((itemId, score) -> {
+            top.add(new Candidate(itemId, owners.get(itemId), score[0]));
+            if (top.size() > topK) {
+                top.poll();
+            }
+        });
+
+        List<Candidate> result = new ArrayList<>(top);
+        result.sort(worstFirst.reversed());
+        return result;
+    }
+
+    // Lower-cased words, as ItemRepository.searchAvailableItems compares LOWER(...) LIKE %word%
+    static Set<String> tokenize(String description) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (description == null) {
+            return tokens;
+        }
+        for (String word : description.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= MIN_TOKEN_LENGTH && !STOP_WORDS.contains(word)) {
+                tokens.add(word);
+            }
+        }
+        return tokens;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void enqueue(Long requestId, Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Очередь подбора переполнена, запрос {} не будет сопоставлен с вещами", requestId);
+        }
+    }
+
+    private void match(Long requestId, Long requestorId, String description) {
+        long startNanos = System.nanoTime();
+        try {
+            List<RequestMatch> matches = topMatches(description, requestorId).stream()
+                    .map(candidate -> RequestMatch.builder()
+                            .requestId(requestId)
+                            .itemId(candidate.itemId())
+                            .ownerId(candidate.ownerId())
+                            .score(candidate.score())
+                            .build())
+                    .toList();
+            if (!matches.isEmpty()) {
+                matchRepository.saveAll(matches);
+            }
+            log.debug("Запрос {} сопоставлен с {} вещами", requestId, matches.size());
+        } catch (RuntimeException e) {
+            log.warn("Не удалось подобрать вещи для запроса {}: {}", requestId, e.getMessage());
+        } finally {
+            matchTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.request.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+
+@Entity
+@Table(name = "request_matches", indexes = @Index(name = "idx_request_matches_owner", columnList = "owner_id, request_id"))
+@IdClass(RequestMatch.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestMatch implements Persistable<RequestMatch.Key> {
+    @Id
+    @Column(name = "request_id")
+    private Long requestId;
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "score", nullable = false)
+    private Integer score;
+
+    // Keys are assigned, so without this saveAll would SELECT every row before inserting it
+    @Transient
+    @Builder.Default
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean fresh = true;
+
+    @Override
+    public Key getId() {
+        return new Key(requestId, itemId);
+    }
+
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        fresh = false;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long requestId;
+        private Long itemId;
+    }
+}
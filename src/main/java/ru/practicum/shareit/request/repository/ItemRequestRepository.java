@@ -0,0 +1,57 @@
+package ru.practicum.shareit.request.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+// Feeds are keyset-paginated on (created, id): the next page starts strictly after the last row seen
+public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+
+    @Query("SELECT r FROM ItemRequest r WHERE r.requestor.id = :requestorId " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findOwn(@Param("requestorId") Long requestorId, Pageable pageable);
+
+    @Query("SELECT r FROM ItemRequest r WHERE r.requestor.id = :requestorId " +
+            "AND (r.created < :created OR (r.created = :created AND r.id < :id)) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findOwnBefore(@Param("requestorId") Long requestorId,
+                                    @Param("created") LocalDateTime created,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
+
+    @Query("SELECT r FROM ItemRequest r WHERE r.requestor.id <> :userId " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findOthers(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT r FROM ItemRequest r WHERE r.requestor.id <> :userId " +
+            "AND (r.created < :created OR (r.created = :created AND r.id < :id)) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findOthersBefore(@Param("userId") Long userId,
+                                       @Param("created") LocalDateTime created,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    @Query("SELECT r FROM ItemRequest r WHERE r.id IN " +
+            "(SELECT m.requestId FROM RequestMatch m WHERE m.ownerId = :ownerId) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findRelevant(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query("SELECT r FROM ItemRequest r WHERE r.id IN " +
+            "(SELECT m.requestId FROM RequestMatch m WHERE m.ownerId = :ownerId) " +
+            "AND (r.created < :created OR (r.created = :created AND r.id < :id)) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findRelevantBefore(@Param("ownerId") Long ownerId,
+                                         @Param("created") LocalDateTime created,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    @Query("SELECT r.id FROM ItemRequest r WHERE r.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.request.service;
+
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemRequestService {
+
+    ItemRequestDto create(Long userId, ItemRequestDto dto);
+
+    List<ItemRequestDto> findOwn(Long userId, LocalDateTime beforeCreated, Long beforeId, int size);
+
+    List<ItemRequestDto> findOthers(Long userId, LocalDateTime beforeCreated, Long beforeId, int size);
+
+    List<ItemRequestDto> findRelevant(Long userId, LocalDateTime beforeCreated, Long beforeId, int size);
+
+    ItemRequestDto findById(Long userId, Long requestId);
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemAnswerDto;
+import ru.practicum.shareit.request.dto.ItemAnswerView;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.matching.ItemRequestMatcher;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemRequestServiceImpl implements ItemRequestService {
+
+    private final ItemRequestRepository requestRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemRequestMatcher matcher;
+
+    @Override
+    public ItemRequestDto create(Long userId, ItemRequestDto dto) {
+        User requestor = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+
+        ItemRequest request = ItemRequestMapper.toItemRequest(dto, requestor);
+        request.setId(null);
+        // Whole seconds, as in the JSON the client echoes back as beforeCreated; ties are broken by id
+        request.setCreated(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+
+        ItemRequest saved = requestRepository.save(request);
+        log.info("Запрос вещи {} создан пользователем {}", saved.getId(), userId);
+        matcher.submit(saved.getId(), userId, saved.getDescription());
+        return ItemRequestMapper.toItemRequestDto(saved, Collections.emptyList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemRequestDto> findOwn(Long userId, LocalDateTime beforeCreated, Long beforeId, int size) {
+        userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+
+        Pageable limit = Pagination.limit(size);
+        List<ItemRequest> requests = beforeCreated == null
+                ? requestRepository.findOwn(userId, limit)
+                : requestRepository.findOwnBefore(userId, beforeCreated, keysetId(beforeId), limit);
+        log.debug("Найдено {} собственных запросов пользователя {}", requests.size(), userId);
+        return withAnswers(requests);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemRequestDto> findOthers(Long userId, LocalDateTime beforeCreated, Long beforeId, int size) {
+        userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+
+        Pageable limit = Pagination.limit(size);
+        List<ItemRequest> requests = beforeCreated == null
+                ? requestRepository.findOthers(userId, limit)
+                : requestRepository.findOthersBefore(userId, beforeCreated, keysetId(beforeId), limit);
+        log.debug("Найдено {} запросов других пользователей для пользователя {}", requests.size(), userId);
+        return withAnswers(requests);
+    }
+
+    // Requests the background matcher found relevant to the user's items
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemRequestDto> findRelevant(Long userId, LocalDateTime beforeCreated, Long beforeId, int size) {
+        userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+
+        Pageable limit = Pagination.limit(size);
+        List<ItemRequest> requests = beforeCreated == null
+                ? requestRepository.findRelevant(userId, limit)
+                : requestRepository.findRelevantBefore(userId, beforeCreated, keysetId(beforeId), limit);
+        log.debug("Найдено {} запросов, подходящих вещам пользователя {}", requests.size(), userId);
+        return withAnswers(requests);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemRequestDto findById(Long userId, Long requestId) {
+        userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+
+        ItemRequest request = requestRepository.findById(requestId)
+                .orElseThrow(() -> new NotFoundException("Запрос не найден"));
+        return withAnswers(List.of(request)).get(0);
+    }
+
+    // Without an id the cursor covers every request created at that instant
+    private static Long keysetId(Long beforeId) {
+        return beforeId != null ? beforeId : Long.MAX_VALUE;
+    }
+
+    private List<ItemRequestDto> withAnswers(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = requests.stream().map(ItemRequest::getId).toList();
+        Map<Long, List<ItemAnswerDto>> answers = itemRepository.findAnswersByRequestIdIn(ids).stream()
+                .collect(Collectors.groupingBy(ItemAnswerView::requestId,
+                        Collectors.mapping(ItemRequestMapper::toItemAnswerDto, Collectors.toList())));
+
+        return requests.stream()
+                .map(request -> ItemRequestMapper.toItemRequestDto(request,
+                        answers.getOrDefault(request.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
+}
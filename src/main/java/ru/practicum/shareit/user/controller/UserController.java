@@ -18,7 +18,7 @@ public class UserController {
 
     @PostMapping
     public UserDto create(@Valid @RequestBody UserDto userDto) {
-        log.info("POST /users - создание пользователя: {}", userDto);
+        log.info("POST /users - создание пользователя");
         return userService.create(userDto);
     }
 
@@ -36,7 +36,7 @@ public class UserController {
 
     @PatchMapping("/{userId}")
     public UserDto update(@PathVariable Long userId, @Valid  @RequestBody UserDto userDto) {
-        log.info("PATCH /users/{} - обновление пользователя: {}", userId, userDto);
+        log.info("PATCH /users/{} - обновление пользователя", userId);
         return userService.update(userId, userDto);
     }
 
@@ -1,9 +1,32 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Optional;
+
 public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
+
+    @Override
+    @Cacheable(cacheNames = "users", key = "#p0", unless = "#result == null || @replicaReads.active()")
+    Optional<User> findById(Long id);
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "users", key = "#p0.id", condition = "#p0.id != null"),
+            @CacheEvict(cacheNames = "itemComments", allEntries = true, condition = "#p0.id != null")
+    })
+    <S extends User> S save(S user);
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "users", key = "#p0"),
+            @CacheEvict(cacheNames = "itemComments", allEntries = true)
+    })
+    void deleteById(Long id);
 }
@@ -3,6 +3,7 @@ package ru.practicum.shareit.user.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.DuplicateEmailException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -77,22 +78,24 @@ public class UserServiceImpl implements UserService {
                 .build();
 
         User savedUser = userRepository.save(updatedUser);
-        log.info("Пользователь обновлён: {}", savedUser);
+        log.info("Пользователь с ID {} обновлён", savedUser.getId());
         return UserMapper.toUserDto(savedUser);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDto findById(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> {
                     log.warn("Пользователь с ID {} не найден", userId);
                     return new NotFoundException(MSG_USER_NOT_FOUND);
                 });
-        log.info("Найден пользователь: {}", user);
+        log.debug("Найден пользователь с ID {}", userId);
         return UserMapper.toUserDto(user);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDto> findAll() {
         List<UserDto> users = userRepository.findAll().stream()
                 .map(UserMapper::toUserDto)
@@ -5,38 +5,39 @@ import org.springframework.stereotype.Component;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Component
 public class InMemoryUserStorage {
-    private final Map<Long, User> users = new HashMap<>();
-    private long idCounter = 1;
+    private final Map<Long, User> users = new ConcurrentHashMap<>();
+    private final AtomicLong idCounter = new AtomicLong(1);
 
     public User create(User user) {
         if (user == null) {
             log.warn("Попытка добавить null-пользователя в хранилище");
             throw new IllegalArgumentException("Пользователь не может быть null");
         }
-        user.setId(idCounter++);
+        user.setId(idCounter.getAndIncrement());
         users.put(user.getId(), user);
         log.info("Пользователь добавлен в хранилище с ID {}", user.getId());
         return user;
     }
 
     public Optional<User> update(User user) {
-        if (!users.containsKey(user.getId())) {
+        if (users.replace(user.getId(), user) == null) {
             log.warn("Попытка обновления несуществующего пользователя ID {}", user.getId());
             return Optional.empty();
         }
-        users.put(user.getId(), user);
-        log.info("Пользователь обновлен в хранилище: {}", user);
+        log.info("Пользователь с ID {} обновлен в хранилище", user.getId());
         return Optional.of(user);
     }
 
     public Optional<User> findById(Long userId) {
         User user = users.get(userId);
         if (user != null) {
-            log.info("Пользователь найден в хранилище: {}", user);
+            log.debug("Пользователь с ID {} найден в хранилище", userId);
         } else {
             log.warn("Пользователь с ID {} не найден в хранилище", userId);
         }
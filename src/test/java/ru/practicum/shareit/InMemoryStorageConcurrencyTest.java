@@ -0,0 +1,125 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.storage.InMemoryBookingStorage;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.InMemoryItemHistoryStorage;
+import ru.practicum.shareit.item.storage.InMemoryItemStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.InMemoryUserStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InMemoryStorageConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int OPERATIONS = 200;
+
+    @Test
+    void userStorageHandsOutUniqueIds() throws Exception {
+        InMemoryUserStorage storage = new InMemoryUserStorage();
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        runConcurrently(i -> ids.add(storage.create(User.builder().name("u" + i).email(i + "@mail.ru").build()).getId()));
+
+        assertEquals(THREADS * OPERATIONS, ids.size());
+        assertEquals(THREADS * OPERATIONS, storage.findAll().size());
+    }
+
+    @Test
+    void itemStorageKeepsOwnerIndexConsistent() throws Exception {
+        InMemoryItemStorage storage = new InMemoryItemStorage();
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        runConcurrently(i -> ids.add(storage.create(Item.builder()
+                .name("item" + i)
+                .description("description")
+                .available(true)
+                .ownerId((long) (i % THREADS))
+                .build()).getId()));
+
+        assertEquals(THREADS * OPERATIONS, ids.size());
+        for (long owner = 0; owner < THREADS; owner++) {
+            assertEquals(OPERATIONS, storage.findAllByOwner(owner).size());
+        }
+    }
+
+    @Test
+    void bookingStorageKeepsItemIndexConsistent() throws Exception {
+        InMemoryBookingStorage storage = new InMemoryBookingStorage();
+        Item item = Item.builder().id(1L).build();
+
+        runConcurrently(i -> storage.create(Booking.builder().item(item).build()));
+
+        assertEquals(THREADS * OPERATIONS, storage.findByItemId(1L).size());
+    }
+
+    @Test
+    void historyStorageLosesNoViews() throws Exception {
+        InMemoryItemHistoryStorage storage = new InMemoryItemHistoryStorage(THREADS, OPERATIONS);
+
+        runConcurrently(i -> storage.addView((long) (i % THREADS), (long) i));
+
+        for (long user = 0; user < THREADS; user++) {
+            assertEquals(OPERATIONS, storage.getHistory(user).size());
+        }
+    }
+
+    @Test
+    void historyStorageEvictsOldestViewsAndUsers() {
+        InMemoryItemHistoryStorage storage = new InMemoryItemHistoryStorage(2, 3);
+
+        for (long item = 1; item <= 5; item++) {
+            storage.addView(1L, item);
+        }
+        storage.addView(1L, 4L);
+        assertEquals(List.of(3L, 5L, 4L), storage.getHistory(1L));
+
+        storage.addView(2L, 1L);
+        storage.addView(3L, 1L);
+
+        // Caffeine picks the evicted user by frequency and recency, so only the bound is fixed
+        assertEquals(2, storage.trackedUsers());
+        assertEquals(2, LongStream.rangeClosed(1, 3).filter(user -> !storage.getHistory(user).isEmpty()).count());
+    }
+
+    private void runConcurrently(Operation operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int op = 0; op < OPERATIONS; op++) {
+                        operation.run(thread * OPERATIONS + op);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run(int index);
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit;
+
+import ru.practicum.shareit.user.model.User;
+
+import java.util.UUID;
+
+public final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    // Unique name and email: service tests share one context and never clean up
+    public static User newUser() {
+        String suffix = UUID.randomUUID().toString();
+        return User.builder()
+                .name("user-" + suffix)
+                .email(suffix + "@mail.ru")
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.bench;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public final class BenchData {
+
+    // Fixed seed: every release benchmarks exactly the same users, items and bookings
+    public static final long SEED = 20240801L;
+
+    static final String[] WORDS = {
+        "дрель", "перфоратор", "шуруповёрт", "лестница", "палатка", "велосипед", "самокат", "проектор",
+        "фотоаппарат", "объектив", "штатив", "гитара", "синтезатор", "колонка", "микрофон", "рюкзак",
+        "спальник", "котелок", "горелка", "лыжи", "сноуборд", "коньки", "тележка", "пила",
+        "рубанок", "болгарка", "компрессор", "мойка", "пылесос", "парогенератор", "утюг", "миксер",
+        "drill", "tent", "bike", "camera", "tripod", "ladder", "speaker", "kayak"
+    };
+
+    private static final BookingStatus[] STATUSES = {
+        BookingStatus.APPROVED, BookingStatus.APPROVED, BookingStatus.WAITING, BookingStatus.REJECTED
+    };
+
+    private final Random random;
+
+    public BenchData(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder()
+                    .name("user-" + i)
+                    .email("user-" + i + "@bench.shareit")
+                    .build());
+        }
+        return users;
+    }
+
+    public List<Item> items(int count, List<User> owners) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(Item.builder()
+                    .name(phrase(2))
+                    .description(phrase(8))
+                    .available(random.nextInt(10) < 8)
+                    .ownerId(owners.get(random.nextInt(owners.size())).getId())
+                    .build());
+        }
+        return items;
+    }
+
+    public List<Booking> bookings(int count, List<Item> items, List<User> bookers, LocalDateTime now) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = now.plusHours(random.nextInt(24 * 360) - 24 * 180L);
+            bookings.add(Booking.builder()
+                    .item(items.get(random.nextInt(items.size())))
+                    .booker(bookers.get(random.nextInt(bookers.size())))
+                    .start(start)
+                    .end(start.plusHours(1 + random.nextInt(24 * 7)))
+                    .status(STATUSES[random.nextInt(STATUSES.length)])
+                    .build());
+        }
+        return bookings;
+    }
+
+    public String[] searchTerms(int count) {
+        String[] terms = new String[count];
+        for (int i = 0; i < count; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            terms[i] = word.substring(0, Math.min(word.length(), 3 + random.nextInt(3)));
+        }
+        return terms;
+    }
+
+    public String[] requestDescriptions(int count) {
+        String[] descriptions = new String[count];
+        for (int i = 0; i < count; i++) {
+            descriptions[i] = "нужна " + phrase(1 + random.nextInt(4)) + " на выходные";
+        }
+        return descriptions;
+    }
+
+    private String phrase(int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
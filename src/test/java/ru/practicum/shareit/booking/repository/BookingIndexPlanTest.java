@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// H2 backs every foreign key with an index of its own, which PostgreSQL does not, and prefers that narrower
+// index on ties: without the constraints the plans show the indexes production actually has
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shareit_plan;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.properties.hibernate.hbm2ddl.default_constraint_mode=NO_CONSTRAINT"
+})
+@ActiveProfiles("test")
+class BookingIndexPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "IDX_BOOKINGS_BOOKER_START|SELECT * FROM bookings WHERE booker_id = 1 ORDER BY start_date DESC",
+            "IDX_BOOKINGS_ITEM_STATUS_END|SELECT * FROM bookings WHERE item_id = 1 AND status = 'APPROVED' AND end_date < CURRENT_TIMESTAMP",
+            "IDX_BOOKINGS_ITEM_STATUS_START|SELECT * FROM bookings WHERE item_id = 1 AND status = 'APPROVED' AND start_date > CURRENT_TIMESTAMP",
+            "IDX_ITEMS_OWNER|SELECT * FROM items WHERE owner_id = 1",
+            "IDX_COMMENTS_ITEM_CREATED|SELECT * FROM comments WHERE item_id = 1 ORDER BY created DESC"
+    })
+    void hotQueriesAreServedByAnIndex(String indexName, String query) {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT index_name FROM information_schema.indexes WHERE UPPER(index_name) = ?",
+                String.class, indexName);
+        assertEquals(1, indexes.size(), "Индекс " + indexName + " не создан");
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + query, String.class);
+        assertTrue(plan.toUpperCase().contains(indexName), "Запрос выполняется не по индексу " + indexName + ": " + plan);
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.booking.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.State;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static ru.practicum.shareit.TestUsers.newUser;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingServiceImplTest {
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void bookerListDoesNotScaleStatementsWithResultSize() {
+        Fixture small = createFixture(2);
+        Fixture large = createFixture(30);
+
+        long smallCount = countStatements(() -> bookingService.getAll(State.ALL, small.booker().getId(), 0, 100), 2);
+        long largeCount = countStatements(() -> bookingService.getAll(State.ALL, large.booker().getId(), 0, 100), 30);
+
+        assertEquals(smallCount, largeCount);
+    }
+
+    @Test
+    void ownerListDoesNotScaleStatementsWithResultSize() {
+        Fixture small = createFixture(2);
+        Fixture large = createFixture(30);
+
+        long smallCount = countStatements(() -> bookingService.getOwnerAll(State.ALL, small.owner().getId(), 0, 100), 2);
+        long largeCount = countStatements(() -> bookingService.getOwnerAll(State.ALL, large.owner().getId(), 0, 100), 30);
+
+        assertEquals(smallCount, largeCount);
+    }
+
+    @Test
+    void pagesStartAtFromEvenWhenItIsNotAMultipleOfSize() {
+        Fixture fixture = createFixture(12);
+        List<Long> all = ids(bookingService.getAll(State.ALL, fixture.booker().getId(), 0, Pagination.MAX_PAGE_SIZE));
+
+        assertEquals(12, all.size());
+        assertEquals(all.subList(5, 9), ids(bookingService.getAll(State.ALL, fixture.booker().getId(), 5, 4)));
+        assertEquals(all.subList(10, 12), ids(bookingService.getAll(State.ALL, fixture.booker().getId(), 10, 4)));
+        assertEquals(all.subList(7, 12),
+                ids(bookingService.getOwnerAll(State.FUTURE, fixture.owner().getId(), 7, Pagination.MAX_PAGE_SIZE)));
+    }
+
+    private static List<Long> ids(List<BookingDto> bookings) {
+        return bookings.stream().map(BookingDto::getId).toList();
+    }
+
+    private long countStatements(BookingQuery query, int expectedSize) {
+        statistics.clear();
+        List<BookingDto> bookings = query.run();
+        assertEquals(expectedSize, bookings.size());
+        bookings.forEach(dto -> {
+            assertNotNull(dto.getItem().getName());
+            assertNotNull(dto.getBooker().getId());
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Fixture createFixture(int bookings) {
+        User owner = userRepository.save(newUser());
+        User booker = userRepository.save(newUser());
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < bookings; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("Item " + i)
+                    .description("Description " + i)
+                    .available(true)
+                    .ownerId(owner.getId())
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(now.plusDays(i + 1))
+                    .end(now.plusDays(i + 2))
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+        return new Fixture(owner, booker);
+    }
+
+    private record Fixture(User owner, User booker) {
+    }
+
+    @FunctionalInterface
+    private interface BookingQuery {
+        List<BookingDto> run();
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.datasource.ReplicaReads;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.TestUsers.newUser;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingAvailabilityIndexTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ReplicaReads replicaReads;
+
+    @Test
+    void detectsConflictHiddenBehindShorterInterval() {
+        User owner = userRepository.save(newUser());
+        User booker = userRepository.save(newUser());
+        Item item = newItem(owner);
+        LocalDateTime base = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+        // Overlapping stored intervals (legacy rows or another instance): A=[1, 10], B=[2, 3]
+        save(item, booker, base.plusDays(1), base.plusDays(10));
+        Booking inner = save(item, booker, base.plusDays(2), base.plusDays(3));
+        BookingAvailabilityIndex index = new BookingAvailabilityIndex(bookingRepository, replicaReads, true, 10);
+
+        assertFalse(index.isFree(item.getId(), base.plusDays(5), base.plusDays(6)));
+        assertFalse(index.isFree(item.getId(), base.plusDays(9), base.plusDays(12)));
+        assertTrue(index.isFree(item.getId(), base.plusDays(10), base.plusDays(12)));
+        assertTrue(index.isFree(item.getId(), base, base.plusDays(1)));
+
+        // Removing the inner interval must not free days the outer one still covers
+        index.remove(inner);
+        LocalDate day = base.toLocalDate();
+        assertEquals(2, index.busyDays(item.getId(), day.plusDays(2), day.plusDays(3)).cardinality());
+        assertFalse(index.isFree(item.getId(), base.plusDays(2), base.plusDays(3)));
+    }
+
+    @Test
+    void confirmsFreeSlotWithDatabase() {
+        User owner = userRepository.save(newUser());
+        User booker = userRepository.save(newUser());
+        Item item = newItem(owner);
+        LocalDateTime base = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+        BookingAvailabilityIndex index = new BookingAvailabilityIndex(bookingRepository, replicaReads, true, 10);
+        assertTrue(index.isFree(item.getId(), base.plusDays(1), base.plusDays(2)));
+
+        // Written behind the loaded index, as another instance would
+        save(item, booker, base.plusDays(1), base.plusDays(2));
+
+        assertFalse(index.isFree(item.getId(), base.plusDays(1), base.plusDays(2)));
+    }
+
+    private Booking save(Item item, User booker, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(BookingStatus.APPROVED)
+                .build());
+    }
+
+    private Item newItem(User owner) {
+        return itemRepository.save(Item.builder()
+                .name("Байдарка")
+                .description("Двухместная")
+                .available(true)
+                .ownerId(owner.getId())
+                .build());
+    }
+}
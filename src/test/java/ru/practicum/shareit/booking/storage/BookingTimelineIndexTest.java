@@ -0,0 +1,133 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.dto.State;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.TestUsers.newUser;
+
+@SpringBootTest(properties = "shareit.booking.timeline.index-enabled=true")
+@ActiveProfiles("test")
+class BookingTimelineIndexTest {
+
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+    private static final Sort BOOKING_SORT = Sort.by(Sort.Direction.DESC, "start")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
+    @Autowired
+    private BookingTimelineIndex timelineIndex;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void matchesRepositoryQueriesForEveryState() {
+        User owner = userRepository.save(newUser());
+        User booker = userRepository.save(newUser());
+        Item item = newItem(owner);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Random random = new Random(42);
+        for (int i = 0; i < 60; i++) {
+            LocalDateTime start = now.plusHours(random.nextInt(480) - 240);
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(start)
+                    .end(start.plusHours(1 + random.nextInt(72)))
+                    .status(STATUSES[random.nextInt(STATUSES.length)])
+                    .build());
+        }
+
+        for (int offset : new int[]{0, 7, 40}) {
+            Pageable page = PageRequest.of(offset / 7, 7);
+            for (State state : State.values()) {
+                assertEquals(fromRepository(state, booker.getId(), owner.getId(), now, page, true),
+                        timelineIndex.find(BookingTimelineIndex.Side.BOOKER, booker.getId(), state, now, page),
+                        "booker " + state + " offset " + page.getOffset());
+                assertEquals(fromRepository(state, booker.getId(), owner.getId(), now, page, false),
+                        timelineIndex.find(BookingTimelineIndex.Side.OWNER, owner.getId(), state, now, page),
+                        "owner " + state + " offset " + page.getOffset());
+            }
+        }
+    }
+
+    @Test
+    void followsBookingWritesAfterWarmUp() {
+        User owner = userRepository.save(newUser());
+        User booker = userRepository.save(newUser());
+        Item item = newItem(owner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        assertTrue(bookingService.getAll(State.ALL, booker.getId(), 0, 10).isEmpty());
+
+        BookingDto created = bookingService.create(BookingDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(start.plusDays(1))
+                .build(), booker.getId());
+        assertEquals(List.of(created.getId()), ids(bookingService.getAll(State.WAITING, booker.getId(), 0, 10)));
+        assertEquals(List.of(created.getId()), ids(bookingService.getOwnerAll(State.FUTURE, owner.getId(), 0, 10)));
+
+        bookingService.approve(created.getId(), owner.getId(), false);
+        assertTrue(bookingService.getAll(State.WAITING, booker.getId(), 0, 10).isEmpty());
+        assertEquals(List.of(created.getId()), ids(bookingService.getOwnerAll(State.REJECTED, owner.getId(), 0, 10)));
+    }
+
+    private List<BookingView> fromRepository(State state, Long bookerId, Long ownerId, LocalDateTime now,
+                                             Pageable page, boolean booker) {
+        Pageable sorted = PageRequest.of(page.getPageNumber(), page.getPageSize(), BOOKING_SORT);
+        return switch (state) {
+            case CURRENT -> booker ? bookingRepository.findBookerCurrentViews(bookerId, now, sorted)
+                    : bookingRepository.findOwnerCurrentViews(ownerId, now, sorted);
+            case PAST -> booker ? bookingRepository.findBookerPastViews(bookerId, now, sorted)
+                    : bookingRepository.findOwnerPastViews(ownerId, now, sorted);
+            case FUTURE -> booker ? bookingRepository.findBookerFutureViews(bookerId, now, sorted)
+                    : bookingRepository.findOwnerFutureViews(ownerId, now, sorted);
+            case WAITING, REJECTED -> booker
+                    ? bookingRepository.findBookerViewsByStatus(bookerId, BookingStatus.valueOf(state.name()), sorted)
+                    : bookingRepository.findOwnerViewsByStatus(ownerId, BookingStatus.valueOf(state.name()), sorted);
+            default -> booker ? bookingRepository.findBookerViews(bookerId, sorted)
+                    : bookingRepository.findOwnerViews(ownerId, sorted);
+        };
+    }
+
+    private Item newItem(User owner) {
+        return itemRepository.save(Item.builder()
+                .name("Палатка")
+                .description("Трёхместная")
+                .available(true)
+                .ownerId(owner.getId())
+                .build());
+    }
+
+    private static List<Long> ids(List<BookingDto> bookings) {
+        return bookings.stream().map(BookingDto::getId).toList();
+    }
+}
@@ -0,0 +1,130 @@
+package ru.practicum.shareit.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.State;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.TestUsers.newUser;
+
+// Own primary database: create-drop of this context must not drop the one the other tests share.
+// The replica gets the schema but never any of the rows written here
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shareit_routing;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "shareit.datasource.replica.enabled=true",
+        "shareit.datasource.replica.jdbc-url=jdbc:h2:mem:shareit_replica;DB_CLOSE_DELAY=-1;"
+                + "INIT=RUNSCRIPT FROM 'classpath:schema.sql'",
+        "shareit.datasource.replica.driver-class-name=org.h2.Driver",
+        "shareit.datasource.replica.username=sa",
+        "shareit.datasource.replica.password=",
+        "shareit.datasource.replica.read-your-writes-window=1h",
+        "shareit.booking.timeline.index-enabled=true"
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    private static final String PRIMARY = "SHAREIT_ROUTING";
+    private static final String REPLICA = "SHAREIT_REPLICA";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ReadYourWritesTracker tracker;
+    @Autowired
+    private ReplicaReads replicaReads;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ReadYourWritesFilter filter;
+
+    @Test
+    void readOnlyTransactionGoesToReplica() {
+        assertEquals(REPLICA, databaseIn(true));
+    }
+
+    @Test
+    void readWriteTransactionGoesToPrimary() {
+        assertEquals(PRIMARY, databaseIn(false));
+    }
+
+    @Test
+    void pinnedReadGoesToPrimary() {
+        ReadWriteRoutingDataSource.pinToPrimary();
+        try {
+            assertEquals(PRIMARY, databaseIn(true));
+        } finally {
+            ReadWriteRoutingDataSource.unpin();
+        }
+    }
+
+    @Test
+    void replicaReadsAreReportedOnlyWhenRoutedToReplica() {
+        assertTrue(activeIn(true));
+        assertFalse(activeIn(false));
+        ReadWriteRoutingDataSource.pinToPrimary();
+        try {
+            assertFalse(activeIn(true));
+        } finally {
+            ReadWriteRoutingDataSource.unpin();
+        }
+    }
+
+    // The booker exists only on the primary: a warm-up routed to the replica would not find them
+    @Test
+    void timelineWarmUpReadsThePrimary() {
+        User booker = userRepository.save(newUser());
+
+        assertTrue(bookingService.getAll(State.ALL, booker.getId(), 0, 10).isEmpty());
+        assertFalse(ReadWriteRoutingDataSource.isPinned());
+    }
+
+    @Test
+    void writeRequestRunsOnThePrimary() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items");
+        request.addHeader("X-Sharer-User-Id", "7");
+        List<Boolean> pinned = new ArrayList<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> pinned.add(ReadWriteRoutingDataSource.isPinned()));
+
+        assertEquals(List.of(true), pinned);
+        assertFalse(ReadWriteRoutingDataSource.isPinned());
+    }
+
+    @Test
+    void writerIsPinnedForTheWindow() {
+        assertFalse(tracker.isPinned(42L));
+        tracker.markWrite(42L);
+        assertTrue(tracker.isPinned(42L));
+    }
+
+    private boolean activeIn(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> replicaReads.active());
+    }
+
+    private String databaseIn(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+    }
+}
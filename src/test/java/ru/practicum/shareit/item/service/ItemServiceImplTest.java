@@ -0,0 +1,280 @@
+package ru.practicum.shareit.item.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.BatchResultDto;
+import ru.practicum.shareit.common.Pagination;
+import ru.practicum.shareit.event.OutboxEventRepository;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
+import ru.practicum.shareit.item.dto.ItemBookingPointersView;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.pointer.ItemBookingPointerChecker;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.TestUsers.newUser;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ItemServiceImplTest {
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemBookingPointerChecker pointerChecker;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void findAllByOwnerExecutesConstantNumberOfStatements() {
+        User smallOwner = createOwnerWithItems(2);
+        User largeOwner = createOwnerWithItems(20);
+
+        long smallCount = countStatements(smallOwner.getId(), 2);
+        long largeCount = countStatements(largeOwner.getId(), 20);
+
+        assertEquals(smallCount, largeCount);
+    }
+
+    @Test
+    void findAllByOwnerFillsBookingsAndComments() {
+        User owner = createOwnerWithItems(3);
+
+        List<ItemDto> items = itemService.findAllByOwner(owner.getId(), 0, 100);
+
+        assertEquals(3, items.size());
+        items.forEach(dto -> {
+            assertNotNull(dto.getLastBooking());
+            assertNotNull(dto.getNextBooking());
+            assertEquals(2, dto.getComments().size());
+            assertNotNull(dto.getComments().get(0).getAuthorName());
+        });
+    }
+
+    @Test
+    void findAllByOwnerPagesFromAnyOffset() {
+        User owner = createOwnerWithItems(7);
+        List<Long> all = itemService.findAllByOwner(owner.getId(), 0, Pagination.MAX_PAGE_SIZE).stream()
+                .map(ItemDto::getId)
+                .toList();
+
+        assertEquals(7, all.size());
+        assertEquals(all.subList(3, 5), itemService.findAllByOwner(owner.getId(), 3, 2).stream()
+                .map(ItemDto::getId)
+                .toList());
+    }
+
+    @Test
+    void availabilityCalendarSplitsPeriodIntoSlots() {
+        User owner = userRepository.save(newUser());
+        User booker = userRepository.save(newUser());
+        Item item = itemRepository.save(Item.builder()
+                .name("Палатка")
+                .description("Трёхместная")
+                .available(true)
+                .ownerId(owner.getId())
+                .build());
+        LocalDate today = LocalDate.now();
+        bookingRepository.save(newBooking(item, booker,
+                today.plusDays(2).atStartOfDay(), today.plusDays(4).atStartOfDay()));
+
+        assertEquals(List.of(
+                new AvailabilitySlotDto(today, today.plusDays(1), true),
+                new AvailabilitySlotDto(today.plusDays(2), today.plusDays(3), false),
+                new AvailabilitySlotDto(today.plusDays(4), today.plusDays(6), true)),
+                itemService.getAvailability(item.getId(), today, today.plusDays(6)));
+        assertThrows(IllegalArgumentException.class, () ->
+                itemService.getAvailability(item.getId(), LocalDate.of(1999, 12, 25), LocalDate.of(2000, 1, 5)));
+    }
+
+    @Test
+    void createBatchRejectsUnknownRequests() {
+        User owner = userRepository.save(newUser());
+        ItemDto unknownRequest = ItemDto.builder().name("Лыжи").description("Беговые").available(true)
+                .requestId(Long.MAX_VALUE).build();
+        ItemDto plain = ItemDto.builder().name("Палки").description("Лыжные").available(true).build();
+
+        BatchResultDto<ItemDto> result = itemService.createBatch(owner.getId(), List.of(unknownRequest, plain, unknownRequest));
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(2, result.getFailed());
+    }
+
+    @Test
+    void cachedItemIsNotSharedBetweenReaders() {
+        User owner = userRepository.save(newUser());
+        Item item = itemRepository.save(Item.builder()
+                .name("Палатка")
+                .description("Двухместная")
+                .available(true)
+                .ownerId(owner.getId())
+                .build());
+
+        Item first = itemRepository.findById(item.getId()).orElseThrow();
+        first.setName("Изменено вызывающим");
+        Item second = itemRepository.findById(item.getId()).orElseThrow();
+
+        assertEquals("Палатка", second.getName());
+    }
+
+    @Test
+    void updateReachesSearchIndexThroughOutbox() {
+        User owner = userRepository.save(newUser());
+        Item item = itemRepository.save(Item.builder()
+                .name("Старый велосипед")
+                .description("Синий")
+                .available(true)
+                .ownerId(owner.getId())
+                .build());
+        String name = "Тандем-" + UUID.randomUUID().toString().substring(0, 8);
+
+        itemService.update(owner.getId(), item.getId(), ItemDto.builder().name(name).available(true).build());
+
+        await().atMost(Duration.ofSeconds(5)).until(() ->
+                itemService.search(name).stream().anyMatch(dto -> dto.getId().equals(item.getId())));
+        await().atMost(Duration.ofSeconds(5)).until(() -> outboxRepository.findAll().stream()
+                .filter(e -> e.getPayload().contains("\"itemId\":" + item.getId() + ","))
+                .allMatch(e -> e.isDispatched()));
+        assertTrue(outboxRepository.findAll().stream().anyMatch(e -> e.getEventType().equals("ItemUpdated")));
+    }
+
+    @Test
+    void approvalMaintainsBookingPointers() {
+        User owner = userRepository.save(newUser());
+        User booker = userRepository.save(newUser());
+        Item item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Ударная")
+                .available(true)
+                .ownerId(owner.getId())
+                .build());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        BookingDto later = bookItem(item, booker, now.plusDays(5), now.plusDays(6));
+        BookingDto sooner = bookItem(item, booker, now.plusDays(2), now.plusDays(3));
+        bookingService.approve(later.getId(), owner.getId(), true);
+        bookingService.approve(sooner.getId(), owner.getId(), true);
+
+        ItemBookingPointersView pointers = itemRepository.findBookingPointers(item.getId()).orElseThrow();
+        assertNull(pointers.lastBookingId());
+        assertEquals(sooner.getId(), pointers.nextBookingId());
+        assertEquals(now.plusDays(2), pointers.validUntil());
+        ItemDto viewed = itemService.findById(owner.getId(), item.getId());
+        assertNull(viewed.getLastBooking());
+        assertEquals(sooner.getId(), viewed.getNextBooking().getId());
+        assertEquals(booker.getId(), viewed.getNextBooking().getBooker().getId());
+        assertEquals(BookingStatus.APPROVED, viewed.getNextBooking().getStatus());
+        assertTrue(pointerChecker.check(item.getId() - 1, 1).mismatched().isEmpty());
+
+        transactionTemplate.executeWithoutResult(status -> itemRepository.updateBookingPointers(
+                item.getId(), null, later.getId(), now.plusDays(5)));
+
+        assertEquals(List.of(item.getId()), pointerChecker.check(item.getId() - 1, 1).mismatched());
+        assertNull(itemRepository.findBookingPointers(item.getId()).orElseThrow().validUntil());
+        assertEquals(sooner.getId(), itemService.findById(owner.getId(), item.getId()).getNextBooking().getId());
+    }
+
+    private BookingDto bookItem(Item item, User booker, LocalDateTime start, LocalDateTime end) {
+        return bookingService.create(BookingDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(end)
+                .build(), booker.getId());
+    }
+
+    private long countStatements(Long ownerId, int expectedItems) {
+        statistics.clear();
+        List<ItemDto> items = itemService.findAllByOwner(ownerId, 0, 100);
+        assertEquals(expectedItems, items.size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User createOwnerWithItems(int count) {
+        User owner = userRepository.save(newUser());
+        User booker = userRepository.save(newUser());
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < count; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("Item " + i)
+                    .description("Description " + i)
+                    .available(true)
+                    .ownerId(owner.getId())
+                    .build());
+
+            bookingRepository.save(newBooking(item, booker, now.minusDays(3), now.minusDays(2)));
+            bookingRepository.save(newBooking(item, booker, now.plusDays(2), now.plusDays(3)));
+
+            for (int c = 0; c < 2; c++) {
+                commentRepository.save(Comment.builder()
+                        .text("Comment " + c)
+                        .itemId(item.getId())
+                        .authorId(booker.getId())
+                        .created(now.minusHours(c))
+                        .build());
+            }
+        }
+        return owner;
+    }
+
+    private Booking newBooking(Item item, User booker, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
+}
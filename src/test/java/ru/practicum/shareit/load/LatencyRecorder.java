@@ -0,0 +1,63 @@
+package ru.practicum.shareit.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Owned by a single client thread while the test runs; merged once at the end, so no locking
+class LatencyRecorder {
+
+    private final Map<String, Samples> byEndpoint = new LinkedHashMap<>();
+
+    void record(String endpoint, long nanos, boolean error) {
+        byEndpoint.computeIfAbsent(endpoint, k -> new Samples()).add(nanos, error);
+    }
+
+    void mergeInto(LatencyRecorder target) {
+        byEndpoint.forEach((endpoint, samples) ->
+                target.byEndpoint.computeIfAbsent(endpoint, k -> new Samples()).addAll(samples));
+    }
+
+    Map<String, Samples> endpoints() {
+        return byEndpoint;
+    }
+
+    static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long value, boolean error) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            if (error) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            if (size + other.size > nanos.length) {
+                nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, size + other.size));
+            }
+            System.arraycopy(other.nanos, 0, nanos, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long errors() {
+            return errors;
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(nanos, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+record LoadReport(String threads, int clients, double durationSeconds, EndpointReport total,
+                  List<EndpointReport> endpoints) {
+
+    record EndpointReport(String endpoint, long requests, long errors, double errorRate, double throughput,
+                          double p50Ms, double p95Ms, double p99Ms) {
+    }
+
+    static LoadReport of(String threads, int clients, double durationSeconds, LatencyRecorder recorder) {
+        List<EndpointReport> endpoints = new ArrayList<>();
+        LatencyRecorder.Samples all = new LatencyRecorder.Samples();
+        for (Map.Entry<String, LatencyRecorder.Samples> entry : recorder.endpoints().entrySet()) {
+            endpoints.add(endpoint(entry.getKey(), entry.getValue(), durationSeconds));
+            all.addAll(entry.getValue());
+        }
+        return new LoadReport(threads, clients, durationSeconds, endpoint("total", all, durationSeconds), endpoints);
+    }
+
+    void write(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), this);
+    }
+
+    private static EndpointReport endpoint(String name, LatencyRecorder.Samples samples, double durationSeconds) {
+        long[] sorted = samples.sorted();
+        long requests = sorted.length;
+        return new EndpointReport(name, requests, samples.errors(),
+                requests == 0 ? 0 : (double) samples.errors() / requests,
+                requests / durationSeconds,
+                percentileMs(sorted, 0.50), percentileMs(sorted, 0.95), percentileMs(sorted, 0.99));
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,166 @@
+package ru.practicum.shareit.load;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.bench.BenchData;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Off by default; run with
+//   mvn test -Dtest=ShareItLoadTest -Dshareit.load=true [-Dshareit.load.clients=64 -Dshareit.load.seconds=60]
+// Reports go to target/load-test/report-<threads>.json
+@EnabledIfSystemProperty(named = "shareit.load", matches = "true")
+class ShareItLoadTest {
+
+    private static final int USERS = Integer.getInteger("shareit.load.users", 500);
+    private static final int ITEMS = Integer.getInteger("shareit.load.items", 5000);
+    private static final int BOOKINGS = Integer.getInteger("shareit.load.bookings", 25000);
+    private static final int CLIENTS = Integer.getInteger("shareit.load.clients", 32);
+    private static final int WARMUP_SECONDS = Integer.getInteger("shareit.load.warmup-seconds", 10);
+    private static final int SECONDS = Integer.getInteger("shareit.load.seconds", 30);
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("shareit.load.max-error-rate", "0.01"));
+    private static final int CHUNK = 1000;
+
+    static Stream<String> threadModes() {
+        return Arrays.stream(System.getProperty("shareit.load.threads", "platform,virtual").split(","))
+                .map(String::trim);
+    }
+
+    @ParameterizedTest
+    @MethodSource("threadModes")
+    void trafficMix(String threads) throws Exception {
+        try (ConfigurableApplicationContext context = start(threads)) {
+            TrafficMix mix = seed(context);
+
+            run(mix, WARMUP_SECONDS);
+            LatencyRecorder recorder = run(mix, SECONDS);
+
+            LoadReport report = LoadReport.of(threads, CLIENTS, SECONDS, recorder);
+            report.write(Path.of("target", "load-test", "report-" + threads + ".json"));
+
+            assertTrue(report.total().requests() > 0, "Нагрузка не выполнила ни одного запроса");
+            assertTrue(report.total().errorRate() <= MAX_ERROR_RATE,
+                    "Доля ошибок " + report.total().errorRate() + " выше допустимой " + MAX_ERROR_RATE);
+        }
+    }
+
+    private ConfigurableApplicationContext start(String threads) {
+        boolean virtual = "virtual".equals(threads);
+        return new SpringApplicationBuilder(ShareItApp.class)
+                .profiles(virtual ? new String[]{"test", "virtual"} : new String[]{"test"})
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.ru.practicum.shareit=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+    }
+
+    private TrafficMix seed(ConfigurableApplicationContext context) {
+        LocalDateTime now = LocalDateTime.now();
+        BenchData data = new BenchData(BenchData.SEED);
+        List<User> users = saveInChunks(context.getBean(UserRepository.class)::saveAll, data.users(USERS));
+        List<Item> items = saveInChunks(context.getBean(ItemRepository.class)::saveAll, data.items(ITEMS, users));
+        List<Booking> bookings = data.bookings(BOOKINGS, items, users, now);
+        saveInChunks(context.getBean(BookingRepository.class)::saveAll, bookings);
+        context.getBean(ItemSearchIndex.class).rebuild();
+
+        List<Item> bookable = items.stream().filter(Item::getAvailable).toList();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return new TrafficMix(URI.create("http://localhost:" + port),
+                users.stream().mapToLong(User::getId).toArray(),
+                items.stream().mapToLong(Item::getId).toArray(),
+                bookable.stream().mapToLong(Item::getId).toArray(),
+                bookable.stream().mapToLong(Item::getOwnerId).toArray(),
+                data.searchTerms(256),
+                now);
+    }
+
+    private LatencyRecorder run(TrafficMix mix, int seconds) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<LatencyRecorder>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                Random random = new Random(BenchData.SEED + i);
+                futures.add(clients.submit(() -> drive(client, mix, random, deadline)));
+            }
+            LatencyRecorder total = new LatencyRecorder();
+            for (Future<LatencyRecorder> future : futures) {
+                future.get().mergeInto(total);
+            }
+            return total;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private LatencyRecorder drive(HttpClient client, TrafficMix mix, Random random, long deadline) {
+        LatencyRecorder recorder = new LatencyRecorder();
+        while (System.nanoTime() < deadline) {
+            TrafficMix.Call call = mix.next(random);
+            long start = System.nanoTime();
+            boolean error;
+            try {
+                HttpResponse<Void> response = client.send(call.request(), HttpResponse.BodyHandlers.discarding());
+                error = response.statusCode() >= 400;
+            } catch (IOException e) {
+                error = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            recorder.record(call.endpoint().label, System.nanoTime() - start, error);
+        }
+        return recorder;
+    }
+
+    private static <T> List<T> saveInChunks(ChunkWriter<T> writer, List<T> rows) {
+        List<T> saved = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i += CHUNK) {
+            saved.addAll(writer.saveAll(rows.subList(i, Math.min(rows.size(), i + CHUNK))));
+        }
+        return saved;
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter<T> {
+        List<T> saveAll(Iterable<T> rows);
+    }
+}
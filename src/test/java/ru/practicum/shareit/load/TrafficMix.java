@@ -0,0 +1,137 @@
+package ru.practicum.shareit.load;
+
+import ru.practicum.shareit.booking.dto.State;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 70% item reads, 20% booking lists, 10% writes
+class TrafficMix {
+
+    enum Endpoint {
+        ITEM_VIEW("GET /items/{id}", 40),
+        ITEM_SEARCH("GET /items/search", 20),
+        ITEM_OWNER_LIST("GET /items", 10),
+        BOOKING_BOOKER_LIST("GET /bookings", 12),
+        BOOKING_OWNER_LIST("GET /bookings/owner", 8),
+        BOOKING_CREATE("POST /bookings", 5),
+        ITEM_CREATE("POST /items", 3),
+        USER_UPDATE("PATCH /users/{id}", 2);
+
+        final String label;
+        final int weight;
+
+        Endpoint(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+    }
+
+    record Call(Endpoint endpoint, HttpRequest request) {
+    }
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final URI base;
+    private final long[] userIds;
+    private final long[] itemIds;
+    private final long[] bookableItemIds;
+    private final long[] bookableItemOwners;
+    private final String[] searchTerms;
+    private final Endpoint[] wheel;
+    private final AtomicLong bookingSlots = new AtomicLong();
+    private final LocalDateTime bookingBase;
+
+    TrafficMix(URI base, long[] userIds, long[] itemIds, long[] bookableItemIds, long[] bookableItemOwners,
+               String[] searchTerms, LocalDateTime now) {
+        this.base = base;
+        this.userIds = userIds;
+        this.itemIds = itemIds;
+        this.bookableItemIds = bookableItemIds;
+        this.bookableItemOwners = bookableItemOwners;
+        this.searchTerms = Arrays.stream(searchTerms)
+                .map(term -> URLEncoder.encode(term, StandardCharsets.UTF_8))
+                .toArray(String[]::new);
+        // After all seeded bookings: writes from the load never collide with each other or the seed
+        this.bookingBase = now.plusYears(2).withNano(0);
+        this.wheel = new Endpoint[100];
+        int slot = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            for (int i = 0; i < endpoint.weight; i++) {
+                wheel[slot++] = endpoint;
+            }
+        }
+    }
+
+    Call next(Random random) {
+        Endpoint endpoint = wheel[random.nextInt(wheel.length)];
+        long userId = pick(userIds, random);
+        HttpRequest request = switch (endpoint) {
+            case ITEM_VIEW -> get("/items/" + pick(itemIds, random), userId);
+            case ITEM_SEARCH -> get("/items/search?text=" + pick(searchTerms, random), userId);
+            case ITEM_OWNER_LIST -> get("/items?from=0&size=20", userId);
+            case BOOKING_BOOKER_LIST -> get("/bookings?size=20&state=" + pickState(random), userId);
+            case BOOKING_OWNER_LIST -> get("/bookings/owner?size=20&state=" + pickState(random), userId);
+            case BOOKING_CREATE -> createBooking(random);
+            case ITEM_CREATE -> send("POST", "/items", userId,
+                    "{\"name\":\"load item\",\"description\":\"created under load\",\"available\":true}");
+            case USER_UPDATE -> send("PATCH", "/users/" + userId, userId,
+                    "{\"name\":\"user-" + userId + "-" + random.nextInt(1000) + "\"}");
+        };
+        return new Call(endpoint, request);
+    }
+
+    private HttpRequest createBooking(Random random) {
+        int index = random.nextInt(bookableItemIds.length);
+        long owner = bookableItemOwners[index];
+        long booker = pick(userIds, random);
+        if (booker == owner) {
+            booker = userIds[0] == owner ? userIds[1] : userIds[0];
+        }
+        LocalDateTime start = bookingBase.plusHours(2 * bookingSlots.getAndIncrement());
+        String body = "{\"itemId\":" + bookableItemIds[index]
+                + ",\"start\":\"" + DATE_TIME.format(start)
+                + "\",\"end\":\"" + DATE_TIME.format(start.plusHours(1)) + "\"}";
+        return send("POST", "/bookings", booker, body);
+    }
+
+    private HttpRequest get(String path, long userId) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .timeout(TIMEOUT)
+                .header(USER_HEADER, Long.toString(userId))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest send(String method, String path, long userId, String json) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .timeout(TIMEOUT)
+                .header(USER_HEADER, Long.toString(userId))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static long pick(long[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static State pickState(Random random) {
+        State[] states = State.values();
+        return states[random.nextInt(states.length)];
+    }
+}
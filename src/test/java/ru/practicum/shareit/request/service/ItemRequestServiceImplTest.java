@@ -0,0 +1,119 @@
+package ru.practicum.shareit.request.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.TestUsers.newUser;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ItemRequestServiceImplTest {
+
+    @Autowired
+    private ItemRequestService requestService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void keysetPagesCoverEveryRequestOnceInOrder() {
+        User requestor = userRepository.save(newUser());
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            created.add(requestService.create(requestor.getId(),
+                    ItemRequestDto.builder().description("Нужна вещь " + i).build()).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        List<ItemRequestDto> page = requestService.findOwn(requestor.getId(), null, null, 3);
+        while (!page.isEmpty()) {
+            page.forEach(request -> seen.add(request.getId()));
+            ItemRequestDto last = page.get(page.size() - 1);
+            page = requestService.findOwn(requestor.getId(), last.getCreated(), last.getId(), 3);
+        }
+
+        assertEquals(created.reversed(), seen);
+    }
+
+    @Test
+    void answersForAPageAreLoadedWithOneQuery() {
+        User requestor = userRepository.save(newUser());
+        User owner = userRepository.save(newUser());
+        for (int i = 0; i < 5; i++) {
+            Long requestId = requestService.create(requestor.getId(),
+                    ItemRequestDto.builder().description("Запрос " + i).build()).getId();
+            for (int j = 0; j < 3; j++) {
+                itemRepository.save(Item.builder()
+                        .name("Ответ " + j)
+                        .description("Вещь по запросу " + requestId)
+                        .available(true)
+                        .ownerId(owner.getId())
+                        .requestId(requestId)
+                        .build());
+            }
+        }
+
+        statistics.clear();
+        List<ItemRequestDto> others = requestService.findOthers(owner.getId(), null, null, 5);
+
+        assertEquals(5, others.size());
+        others.forEach(request -> assertEquals(3, request.getItems().size()));
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "Ожидалось не больше 3 запросов, выполнено " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void newRequestIsMatchedToOtherOwnersItemsInBackground() {
+        User owner = userRepository.save(newUser());
+        User requestor = userRepository.save(newUser());
+        String marker = "дрельмарк" + UUID.randomUUID().toString().substring(0, 8);
+        itemService.create(owner.getId(), ItemDto.builder()
+                .name("Ударная " + marker)
+                .description("Мощная, с набором свёрл")
+                .available(true)
+                .build(), null);
+
+        Long requestId = requestService.create(requestor.getId(),
+                ItemRequestDto.builder().description("Нужна " + marker + " на выходные").build()).getId();
+
+        await().atMost(Duration.ofSeconds(5)).until(() ->
+                requestService.findRelevant(owner.getId(), null, null, 10).stream()
+                        .anyMatch(request -> request.getId().equals(requestId)));
+        assertTrue(requestService.findRelevant(requestor.getId(), null, null, 10).stream()
+                .noneMatch(request -> request.getId().equals(requestId)));
+    }
+}